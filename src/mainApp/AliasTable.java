@@ -0,0 +1,105 @@
+package mainApp;
+
+import java.util.SplittableRandom;
+
+/**
+ * Class: AliasTable <br>
+ * Purpose: The AliasTable class picks an index at random with probability
+ * proportional to its weight, using Walker's alias method as described by
+ * Vose. Building the table takes O(N) time and memory and every pick takes
+ * O(1), no matter how large the weights are. <br>
+ * <br>
+ * Restrictions: weights must not be negative. If every weight is zero, every
+ * index is equally likely. <br>
+ * For example:
+ *
+ * <pre>
+ * AliasTable table = new AliasTable(new double[] { 1, 2, 3 });
+ * int index = table.sample(RandomStreams.current());
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see Generation
+ */
+public class AliasTable {
+
+	/** the chance of keeping each column instead of taking its alias */
+	private final double[] probability;
+
+	/** the index each column falls back to */
+	private final int[] alias;
+
+	/**
+	 * Builds the alias table for the given weights.
+	 *
+	 * @param weights the weight of each index
+	 */
+	public AliasTable(double[] weights) {
+		int size = weights.length;
+		this.probability = new double[size];
+		this.alias = new int[size];
+
+		double totalWeight = 0;
+		for (double weight : weights) {
+			totalWeight += weight;
+		}
+
+		double[] scaledWeights = new double[size];
+		int[] small = new int[size];
+		int[] large = new int[size];
+		int numberOfSmall = 0;
+		int numberOfLarge = 0;
+		for (int i = 0; i < size; i++) {
+			scaledWeights[i] = totalWeight > 0 ? weights[i] * size / totalWeight : 1.0;
+			if (scaledWeights[i] < 1.0) {
+				small[numberOfSmall] = i;
+				numberOfSmall++;
+			} else {
+				large[numberOfLarge] = i;
+				numberOfLarge++;
+			}
+		}
+
+		while (numberOfSmall > 0 && numberOfLarge > 0) {
+			numberOfSmall--;
+			int lessLikely = small[numberOfSmall];
+			int moreLikely = large[numberOfLarge - 1];
+
+			this.probability[lessLikely] = scaledWeights[lessLikely];
+			this.alias[lessLikely] = moreLikely;
+
+			scaledWeights[moreLikely] = (scaledWeights[moreLikely] + scaledWeights[lessLikely]) - 1.0;
+			if (scaledWeights[moreLikely] < 1.0) {
+				numberOfLarge--;
+				small[numberOfSmall] = moreLikely;
+				numberOfSmall++;
+			}
+		}
+
+		// whatever is left over is 1 up to rounding error
+		while (numberOfLarge > 0) {
+			numberOfLarge--;
+			this.probability[large[numberOfLarge]] = 1.0;
+		}
+		while (numberOfSmall > 0) {
+			numberOfSmall--;
+			this.probability[small[numberOfSmall]] = 1.0;
+		}
+	}
+
+	/**
+	 * Picks an index at random with probability proportional to its weight.
+	 *
+	 * @param random the random number generator to draw from
+	 * @return the picked index
+	 */
+	public int sample(SplittableRandom random) {
+		int column = random.nextInt(this.probability.length);
+		if (random.nextDouble() < this.probability[column]) {
+			return column;
+		}
+		return this.alias[column];
+	}
+
+}
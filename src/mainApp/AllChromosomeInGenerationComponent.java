@@ -3,7 +3,6 @@ package mainApp;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.util.ArrayList;
 
 import javax.swing.JComponent;
 
@@ -99,7 +98,7 @@ public class AllChromosomeInGenerationComponent extends JComponent {
 		for (int i = 0; i < numberOFChromosomes; i++) {
 			currentLineOFGene = 0;
 			currentRowOFGene = 0;
-			ArrayList<Gene> thisChromosome = currentChromosomes[i].getGenesAsArrayList();
+			Genome thisChromosome = currentChromosomes[i].getGenome();
 			for (int j = 0; j < numberOfGenes; j++) {
 				currentX = currentLineOFChromosomes * (this.widthPerChromosome + this.widthOFInterval)
 						+ currentLineOFGene * this.widthOfGene;
@@ -107,7 +106,7 @@ public class AllChromosomeInGenerationComponent extends JComponent {
 						+ currentRowOFGene * this.heightOfGene;
 //				System.err.println(currentX + " " + currentY);
 				g.drawRect(currentX, currentY, widthOfGene, heightOfGene);
-				if (thisChromosome.get(j).getCurrentValue() == 1) {
+				if (thisChromosome.get(j) == 1) {
 					g.setColor(TRUE_COLOR);
 				} else {
 					g.setColor(FALSE_COLOR);
@@ -141,7 +140,7 @@ public class AllChromosomeInGenerationComponent extends JComponent {
 		this.currentChromosomes = currentChromosomes;
 		this.numberOFChromosomes = this.currentChromosomes.length;
 		this.numberChromosomesRow = this.currentChromosomes.length / CHROMOSOMES_PER_ROW;
-		this.numberOfGenes = this.currentChromosomes[0].getGenesAsArrayList().size();
+		this.numberOfGenes = this.currentChromosomes[0].getGenome().size();
 		this.numberGenesRow = this.numberOfGenes / GENES_PER_ROW;
 //TODO: enable adjust
 //		System.err.println("update Chromosomes!  WIDTH / (CHROMOSOMES_PER_ROW + CHROMOSOMES_INTERVAL);:"
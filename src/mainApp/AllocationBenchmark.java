@@ -0,0 +1,235 @@
+package mainApp;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class: AllocationBenchmark <br>
+ * Purpose: Measures how many bytes are allocated per generation when every
+ * generation is a new Generation, as GeneticAlgorithmCalculator does, and when
+ * the two reused populations of GenerationalEngine are written in place. The
+ * time and the number of fitness evaluations per generation are printed too,
+ * and a run that scores every individual of a generation again is reported as
+ * an error, since copied parents keep their scores. <br>
+ * <br>
+ * Restrictions: the allocated bytes are read from the HotSpot thread bean
+ * (com.sun.management.ThreadMXBean); on a JVM without it only the times are
+ * printed. The first WARM_UP_GENERATIONS of each run are not measured. <br>
+ * For example:
+ *
+ * <pre>
+ * java mainApp.AllocationBenchmark
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see GenerationalEngine
+ * @see StopWatch
+ */
+public class AllocationBenchmark {
+
+	/** the genome lengths to measure */
+	private static final int[] GENOME_LENGTHS = { 100, 10000 };
+
+	/** the number of individuals per generation */
+	private static final int POPULATION_SIZE = 100;
+
+	/** the number of generations measured per run */
+	private static final int GENERATIONS = 2000;
+
+	/** the number of generations run before measuring */
+	private static final int WARM_UP_GENERATIONS = 500;
+
+	/** the expected number of genes flipped per chromosome */
+	private static final double MUTATION_RATE = 1;
+
+	/** the fraction of the best individuals preserved each generation */
+	private static final double ELITISM_PERCENTAGE = 0.1;
+
+	/** flag for crossover and mutation */
+	private static final boolean CROSSOVER = true;
+
+	/** keeps the JIT from removing the runs */
+	private static long sink;
+
+	public static void main(String[] args) {
+		for (int length : GENOME_LENGTHS) {
+			System.out.println("Population " + POPULATION_SIZE + ", genome length " + length + ", " + GENERATIONS
+					+ " generations");
+			runNewGenerations(length);
+			runGenerationalEngine(length);
+		}
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	/**
+	 * Runs generations made as new Generation objects, the way the calculator
+	 * does, without keeping them.
+	 *
+	 * @param length the genome length
+	 */
+	private static void runNewGenerations(int length) {
+		CountingFitness fitnessFunction = new CountingFitness(new NumberOfOnesFitness());
+		SelectionStrategy selectionStrategy = new TruncationSelection();
+		Generation generation = new Generation(POPULATION_SIZE, length, fitnessFunction, null);
+		generation.sortChromosomesByFitnessScore();
+
+		long allocatedBytes = 0;
+		long evaluations = 0;
+		StopWatch timer = new StopWatch();
+		for (int i = 0; i < WARM_UP_GENERATIONS + GENERATIONS; i++) {
+			if (i == WARM_UP_GENERATIONS) {
+				allocatedBytes = allocatedBytes();
+				evaluations = fitnessFunction.getEvaluations();
+				timer.start();
+			}
+			ArrayList<Chromosome> parents = generation.chooseNextParents(selectionStrategy, ELITISM_PERCENTAGE);
+			generation = new Generation(parents, CROSSOVER, MUTATION_RATE, ELITISM_PERCENTAGE);
+		}
+		timer.stop();
+		allocatedBytes = allocatedBytes() - allocatedBytes;
+		evaluations = fitnessFunction.getEvaluations() - evaluations;
+		sink += generation.returnBestChromosomeFitnessScore();
+		report("new Generation", allocatedBytes, evaluations, timer.getElapsedTime());
+	}
+
+	/**
+	 * Runs generations written in place by a GenerationalEngine.
+	 *
+	 * @param length the genome length
+	 */
+	private static void runGenerationalEngine(int length) {
+		CountingFitness fitnessFunction = new CountingFitness(new NumberOfOnesFitness());
+		GenerationalEngine engine = new GenerationalEngine(POPULATION_SIZE, length, fitnessFunction, null,
+				new TruncationSelection(), CROSSOVER, MUTATION_RATE, ELITISM_PERCENTAGE);
+
+		long allocatedBytes = 0;
+		long evaluations = 0;
+		StopWatch timer = new StopWatch();
+		for (int i = 0; i < WARM_UP_GENERATIONS + GENERATIONS; i++) {
+			if (i == WARM_UP_GENERATIONS) {
+				allocatedBytes = allocatedBytes();
+				evaluations = fitnessFunction.getEvaluations();
+				timer.start();
+			}
+			engine.createNewGeneration();
+		}
+		timer.stop();
+		allocatedBytes = allocatedBytes() - allocatedBytes;
+		evaluations = fitnessFunction.getEvaluations() - evaluations;
+		sink += engine.getCurrentGeneration().returnBestChromosomeFitnessScore();
+		report("reused buffers", allocatedBytes, evaluations, timer.getElapsedTime());
+	}
+
+	/**
+	 * Prints the bytes allocated, the fitness evaluations and the time taken per
+	 * generation, and reports an error if every individual was scored again.
+	 *
+	 * @param runName        the name of the run
+	 * @param allocatedBytes the bytes allocated over all measured generations, or
+	 *                       below 0 if unknown
+	 * @param evaluations    the fitness evaluations over all measured generations
+	 * @param elapsedTime    the time of all measured generations in ms
+	 */
+	private static void report(String runName, long allocatedBytes, long evaluations, long elapsedTime) {
+		double timePerGeneration = (double) elapsedTime / GENERATIONS;
+		double evaluationsPerGeneration = (double) evaluations / GENERATIONS;
+		if (allocatedBytes < 0) {
+			System.out.printf("  %-15s %8.3f ms/generation  %6.1f evaluations/generation%n", runName,
+					timePerGeneration, evaluationsPerGeneration);
+		} else {
+			System.out.printf("  %-15s %8.3f ms/generation  %6.1f evaluations/generation  %10d bytes/generation%n",
+					runName, timePerGeneration, evaluationsPerGeneration, allocatedBytes / GENERATIONS);
+		}
+		if (evaluationsPerGeneration >= POPULATION_SIZE) {
+			System.err.println(runName + " scored every individual of each generation again!!!");
+		}
+	}
+
+	/**
+	 * Returns the bytes allocated by this thread so far.
+	 *
+	 * @return the allocated bytes, or -1 if the JVM cannot tell
+	 */
+	private static long allocatedBytes() {
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		if (threadBean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+
+	/**
+	 * Class: CountingFitness <br>
+	 * Purpose: Scores genomes with another fitness method and counts how many
+	 * times a whole genome was scored. <br>
+	 * <br>
+	 * Restrictions: the changes of single flips are not counted. <br>
+	 */
+	private static class CountingFitness implements FitnessFunction {
+
+		/** the fitness method doing the scoring */
+		private final FitnessFunction fitnessFunction;
+
+		/** the number of genomes scored so far */
+		private final AtomicLong evaluations = new AtomicLong();
+
+		/**
+		 * Makes a fitness method that counts the genomes scored by another one.
+		 *
+		 * @param fitnessFunction the fitness method doing the scoring
+		 */
+		CountingFitness(FitnessFunction fitnessFunction) {
+			this.fitnessFunction = fitnessFunction;
+		}
+
+		/**
+		 * Returns the number of genomes scored so far.
+		 *
+		 * @return the number of evaluations
+		 */
+		long getEvaluations() {
+			return this.evaluations.get();
+		}
+
+		@Override
+		public String getName() {
+			return this.fitnessFunction.getName();
+		}
+
+		@Override
+		public int getFlag() {
+			return this.fitnessFunction.getFlag();
+		}
+
+		@Override
+		public Genome randomGenome(int numberOfGenes) {
+			return this.fitnessFunction.randomGenome(numberOfGenes);
+		}
+
+		@Override
+		public int evaluate(Genome genome, Genome idealGenotype) {
+			this.evaluations.incrementAndGet();
+			return this.fitnessFunction.evaluate(genome, idealGenotype);
+		}
+
+		@Override
+		public boolean isDeterministic() {
+			return this.fitnessFunction.isDeterministic();
+		}
+
+		@Override
+		public boolean isIncremental() {
+			return this.fitnessFunction.isIncremental();
+		}
+
+		@Override
+		public int fitnessChangeOfFlip(Genome genome, Genome idealGenotype, int locus) {
+			return this.fitnessFunction.fitnessChangeOfFlip(genome, idealGenotype, locus);
+		}
+
+	}
+
+}
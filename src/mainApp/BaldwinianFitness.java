@@ -0,0 +1,82 @@
+package mainApp;
+
+/**
+ * Class: BaldwinianFitness <br>
+ * Purpose: Scores a genome the way the Baldwin effect study does. Each day of
+ * its life the individual guesses every unknown allele, and the sooner it
+ * guesses them all correctly the fitter it is. <br>
+ * <br>
+ * Restrictions: the score is random, so it is recalculated after every change
+ * rather than updated gene by gene. <br>
+ * For example:
+ *
+ * <pre>
+ * int fitnessScore = new BaldwinianFitness().evaluate(genome, null);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see FitnessFunction
+ */
+public class BaldwinianFitness implements FitnessFunction {
+
+	/** flag for the Baldwinism fitness in fitness evaluation */
+	private static final int BALDWINISM_FITNESS = 44;
+
+	/** constant for the lifespan of a chromosome in generations in Baldwinism */
+	private static final int LIFE_OF_CHROMOSOME = 1000;
+
+	@Override
+	public String getName() {
+		return "Baldwinism";
+	}
+
+	@Override
+	public int getFlag() {
+		return BALDWINISM_FITNESS;
+	}
+
+	@Override
+	public Genome randomGenome(int numberOfGenes) {
+		return Genome.randomBaldwinianGenome(numberOfGenes);
+	}
+
+	/**
+	 * Each day every unknown allele is guessed, a word of alleles at a time. A
+	 * genome with any incorrect allele can never guess its way to all correct, so
+	 * it skips the days.
+	 */
+	@Override
+	public int evaluate(Genome genome, Genome idealGenotype) {
+		int daysLeftWhenReachedBestFitness = 0;
+		int daysToTry = genome.countIncorrectAlleles() > 0 ? 0 : LIFE_OF_CHROMOSOME;
+
+		for (int daysRemaining = daysToTry; daysRemaining > 0; daysRemaining--) {
+			boolean allCorrect = genome.guessUnknownAllelesCorrectly();
+
+			if (allCorrect == true) {
+				daysLeftWhenReachedBestFitness = daysRemaining;
+				break;
+			}
+
+		}
+
+		return 1 + 19 * daysLeftWhenReachedBestFitness / 1000;
+	}
+
+	@Override
+	public boolean isDeterministic() {
+		return false;
+	}
+
+	@Override
+	public boolean isIncremental() {
+		return false;
+	}
+
+	@Override
+	public int fitnessChangeOfFlip(Genome genome, Genome idealGenotype, int locus) {
+		return 0;
+	}
+
+}
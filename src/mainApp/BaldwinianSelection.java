@@ -0,0 +1,70 @@
+package mainApp;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * Class: BaldwinianSelection <br>
+ * Purpose: Chooses the parents the way the Baldwin effect study does: two
+ * individuals are picked from a roulette wheel and the first child of their
+ * crossover becomes the parent. <br>
+ * <br>
+ * Restrictions: meant to be used with the Baldwinism fitness method. <br>
+ * For example:
+ *
+ * <pre>
+ * ArrayList&lt;Chromosome&gt; parents = new BaldwinianSelection().chooseParents(generation, 0);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see SelectionStrategy
+ * @see BaldwinianFitness
+ */
+public class BaldwinianSelection implements SelectionStrategy {
+
+	/** constant for parent selection in Baldwinian evolution */
+	private static final int BALDWINIAN_PARENT_SELECTION = 3;
+
+	@Override
+	public String getName() {
+		return "Baldwinism";
+	}
+
+	@Override
+	public int getFlag() {
+		return BALDWINIAN_PARENT_SELECTION;
+	}
+
+	@Override
+	public ArrayList<Chromosome> chooseParents(Generation generation, int numberOfChromosomesToPreserve) {
+		generation.moveBestChromosomesToFront(numberOfChromosomesToPreserve);
+		Chromosome[] individuals = generation.getAllChromosome();
+		ArrayList<Chromosome> parentsForNextGeneration = new ArrayList<Chromosome>();
+
+		for (int i = 0; i < numberOfChromosomesToPreserve; i++) {
+			parentsForNextGeneration.add(individuals[i]);
+		}
+
+		AliasTable rouletteWheel = RouletteWheelSelection.buildRouletteWheel(individuals);
+		SplittableRandom randomNumberGenerator = RandomStreams.current();
+
+		for (int i = numberOfChromosomesToPreserve; i < individuals.length; i++) {
+
+			int randomIndex1 = rouletteWheel.sample(randomNumberGenerator);
+			int randomIndex2 = rouletteWheel.sample(randomNumberGenerator);
+
+			Chromosome parent1 = individuals[randomIndex1];
+			Chromosome parent2 = individuals[randomIndex2];
+
+			Chromosome[] crossoverChildren = generation.makeAChildUsingCrossover(parent1, parent2);
+			Chromosome selectedChild = crossoverChildren[0];
+
+			parentsForNextGeneration.add(selectedChild);
+
+		}
+		generation.calculateAverageAlleles();
+		return parentsForNextGeneration;
+	}
+
+}
@@ -0,0 +1,77 @@
+package mainApp;
+
+/**
+ * Class: BinaryValueFitness <br>
+ * Purpose: Scores a genome by its binary value. The genes are split into
+ * groups of DEFAULT_UNIT, the binary values of the groups are added up, and
+ * after each group the distance between the running total and the target
+ * binary score, modulo DEFAULT_UNIT, is added to the fitness score. <br>
+ * <br>
+ * Restrictions: the score is recalculated after every change rather than
+ * updated gene by gene. <br>
+ * For example:
+ *
+ * <pre>
+ * int fitnessScore = new BinaryValueFitness().evaluate(genome, null);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see FitnessFunction
+ */
+public class BinaryValueFitness implements FitnessFunction {
+
+	/** flag for the BinaryValue fitness in fitness evaluation */
+	private static final int BINARY_VALUE = 55;
+
+	/** constant for the display/calculation of a chromosome fitness in Binary Value */
+	private static final int DEFAULT_UNIT = 10;
+
+	@Override
+	public String getName() {
+		return "Binary Value";
+	}
+
+	@Override
+	public int getFlag() {
+		return BINARY_VALUE;
+	}
+
+	@Override
+	public Genome randomGenome(int numberOfGenes) {
+		return Genome.randomGenome(numberOfGenes);
+	}
+
+	@Override
+	public int evaluate(Genome genome, Genome idealGenotype) {
+		int targetBinaryScore = (int) Math.pow(2, DEFAULT_UNIT) / 2;
+		int fitnessScore = 0;
+		String numlists = "";
+		int binary_value = 0;
+		for (int i = 0; i < genome.size(); i++) {
+			if (i % DEFAULT_UNIT == 0 && i != 0) {
+				binary_value += (int) Long.parseLong(numlists, 2);
+				fitnessScore += Math.abs(targetBinaryScore - binary_value) % DEFAULT_UNIT;
+				numlists = "";
+			}
+			numlists += genome.get(i);
+		}
+		return fitnessScore;
+	}
+
+	@Override
+	public boolean isDeterministic() {
+		return true;
+	}
+
+	@Override
+	public boolean isIncremental() {
+		return false;
+	}
+
+	@Override
+	public int fitnessChangeOfFlip(Genome genome, Genome idealGenotype, int locus) {
+		return 0;
+	}
+
+}
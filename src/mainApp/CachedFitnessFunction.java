@@ -0,0 +1,170 @@
+package mainApp;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class: CachedFitnessFunction <br>
+ * Purpose: Wraps a FitnessFunction and remembers the scores of the genomes it
+ * has seen, found by their content hash, so a genome that is copied unchanged
+ * into the next generation is not scored again. Each score is kept with a copy
+ * of its genome, and a score is only used if the genome asked about has the
+ * same alleles, so two genomes with the same hash never share a score. The
+ * cache is split into stripes by hash, each with its own lock, so threads
+ * scoring different genomes rarely wait for each other. Each stripe forgets
+ * its least recently used score first once the cache is full. It counts its
+ * hits and misses so the viewer can show how well it works. <br>
+ * <br>
+ * Restrictions: one cache must only be used for one run, because the scores
+ * depend on the ideal genotype of the run. The Baldwinism
+ * fitness is random, so with the cache a genome keeps the score it got the
+ * first time instead of learning again. <br>
+ * For example:
+ *
+ * <pre>
+ * FitnessFunction fitnessFunction = new CachedFitnessFunction(new TargetFitness(), 10000);
+ * int fitnessScore = fitnessFunction.evaluate(genome, idealGenotype);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see FitnessFunction
+ * @see Genome#contentHash()
+ */
+public class CachedFitnessFunction implements FitnessFunction {
+
+	/** the fitness method whose scores are remembered */
+	private final FitnessFunction fitnessFunction;
+
+	/** the number of stripes the cache is split into, a power of 2 */
+	private static final int STRIPES = 16;
+
+	/**
+	 * the remembered scores by genome hash, each stripe least recently used first
+	 * and locked on its own
+	 */
+	private final LinkedHashMap<Long, CachedScore>[] cachedScores;
+
+	/** the number of scores found in the cache */
+	private final AtomicLong hits = new AtomicLong();
+
+	/** the number of scores that had to be calculated */
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * A remembered score and the genome it belongs to.
+	 */
+	private static class CachedScore {
+
+		/** a copy of the scored genome */
+		private final Genome genome;
+
+		/** the score of the genome */
+		private final int fitnessScore;
+
+		CachedScore(Genome genome, int fitnessScore) {
+			this.genome = genome;
+			this.fitnessScore = fitnessScore;
+		}
+
+	}
+
+	/**
+	 * Wraps a fitness method in a cache of the given size.
+	 *
+	 * @param fitnessFunction the fitness method whose scores are remembered
+	 * @param cacheSize       the most scores remembered at once
+	 */
+	@SuppressWarnings("unchecked")
+	public CachedFitnessFunction(FitnessFunction fitnessFunction, int cacheSize) {
+		this.fitnessFunction = fitnessFunction;
+		this.cachedScores = (LinkedHashMap<Long, CachedScore>[]) new LinkedHashMap<?, ?>[STRIPES];
+		for (int stripe = 0; stripe < STRIPES; stripe++) {
+			// the stripes share the cache size out as evenly as they can
+			final int stripeSize = cacheSize / STRIPES + (stripe < cacheSize % STRIPES ? 1 : 0);
+			this.cachedScores[stripe] = new LinkedHashMap<Long, CachedScore>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Long, CachedScore> eldest) {
+					return size() > stripeSize;
+				}
+			};
+		}
+	}
+
+	@Override
+	public String getName() {
+		return this.fitnessFunction.getName();
+	}
+
+	@Override
+	public int getFlag() {
+		return this.fitnessFunction.getFlag();
+	}
+
+	@Override
+	public Genome randomGenome(int numberOfGenes) {
+		return this.fitnessFunction.randomGenome(numberOfGenes);
+	}
+
+	/**
+	 * Returns the remembered score of the genome if it was kept for a genome
+	 * with the same alleles, or scores it and remembers the score.
+	 */
+	@Override
+	public int evaluate(Genome genome, Genome idealGenotype) {
+		long genomeHash = genome.contentHash();
+		LinkedHashMap<Long, CachedScore> stripe = this.cachedScores[(int) (genomeHash >>> 32) & (STRIPES - 1)];
+		CachedScore cachedScore;
+		synchronized (stripe) {
+			cachedScore = stripe.get(genomeHash);
+		}
+		if (cachedScore != null && cachedScore.genome.sameAlleles(genome)) {
+			this.hits.incrementAndGet();
+			return cachedScore.fitnessScore;
+		}
+		this.misses.incrementAndGet();
+		int fitnessScore = this.fitnessFunction.evaluate(genome, idealGenotype);
+		CachedScore newScore = new CachedScore(genome.copy(), fitnessScore);
+		synchronized (stripe) {
+			stripe.put(genomeHash, newScore);
+		}
+		return fitnessScore;
+	}
+
+	@Override
+	public boolean isDeterministic() {
+		return this.fitnessFunction.isDeterministic();
+	}
+
+	@Override
+	public boolean isIncremental() {
+		return this.fitnessFunction.isIncremental();
+	}
+
+	@Override
+	public int fitnessChangeOfFlip(Genome genome, Genome idealGenotype, int locus) {
+		return this.fitnessFunction.fitnessChangeOfFlip(genome, idealGenotype, locus);
+	}
+
+	/**
+	 * Returns the number of scores found in the cache.
+	 *
+	 * @return the number of cache hits
+	 */
+	public long getHits() {
+		return this.hits.get();
+	}
+
+	/**
+	 * Returns the number of scores that had to be calculated.
+	 *
+	 * @return the number of cache misses
+	 */
+	public long getMisses() {
+		return this.misses.get();
+	}
+
+}
@@ -1,6 +1,9 @@
 package mainApp;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 /**
  * Class: Chromosome
@@ -9,29 +12,39 @@ import java.util.ArrayList;
  * Purpose: The Chromosome class represents a single chromosome in a genetic
  * algorithm. <br>
  * <br>
- * A chromosome is composed of a series of genes. <br>
+ * A chromosome is composed of a series of genes, stored packed in a Genome.
+ * <br>
+ * <br>
+ * The fitness score is not calculated when a chromosome is made or its genes
+ * are copied, but the first time it is read, unless PopulationWorkers have
+ * already calculated it as part of a batch. <br>
  * <br>
  * Restrictions: NONE <br>
  * For example:
  * 
  * <pre>
  * 
- * Chromosome chromosome = new Chromosome(ArrayList<Gene>);
+ * Chromosome chromosome = new Chromosome(genome);
  * 
  * <pre>
  * 
  * @author Yueqiao Wang and Rebecca Testa
  * @see Gene
+ * @see Genome
  */
 public class Chromosome implements Comparable<Chromosome> {
 	/**
-	 * ArrayList of genes that make up the chromosome
+	 * the packed genes that make up the chromosome
 	 */
-	private ArrayList<Gene> genes = new ArrayList<Gene>();
+	private Genome genome;
 	/**
 	 * the fitness score of the chromosome
 	 */
 	private int fitnessScore;
+	/**
+	 * flag to confirm the fitness score is up to date with the genes.
+	 */
+	private boolean fitnessCalculated = false;
 	/**
 	 * the number of correct alleles in the chromosome
 	 */
@@ -51,233 +64,114 @@ public class Chromosome implements Comparable<Chromosome> {
 	private boolean allelesCalculated = false;
 
 	/**
-	 * flag for the NUM_1S fitness in fitness evaluation
-	 */
-	private static final int NUM_1S = 11;
-	/**
-	 * flag for the target fitness in fitness evaluation
-	 */
-	private static final int TARGET = 22;
-	/**
-	 * flag for the symmetry fitness in fitness evaluation
-	 */
-	private static final int SYMMETRY = 33;
-	/**
-	 * flag for the Baldwinism fitness in fitness evaluation
-	 */
-	private static final int BALDWINISM_FITNESS = 44;
-
-	/**
-	 * flag for the BinaryValue fitness in fitness evaluation
-	 */
-	private static final int BINARY_VALUE = 55;
-
-	/**
-	 * constant for the lifespan of a chromosome in generations in Baldwinism
+	 * the content hash of the genome, valid while genomeHashCalculated is true
 	 */
-	private static final int LIFE_OF_CHROMOSOME = 1000;
+	private long genomeHash;
 
 	/**
-	 * constant for the display/calculation of a chromosome fitness in Binary Value
+	 * flag to confirm the content hash of the genome is up to date.
 	 */
-	private static final int DEFAULT_UNIT = 10;
+	private boolean genomeHashCalculated = false;
 
 	/**
-	 * the fitness evaluation method used
+	 * the starting size of the array that records the genes flipped by mutate
 	 */
-	private int fitnessMethod;
+	private static final int INITIAL_FLIPPED_LOCI_CAPACITY = 8;
 
 	/**
-	 * the target Binary Score for Binary value fitness method;
+	 * the fitness evaluation method used, or null if there is none
 	 */
-	private int targetBinaryScore;
+	private FitnessFunction fitnessFunction;
 
 	/**
-	 * flag indicating whether Baldwinism evolution is being used
-	 */
-	private boolean baldwinianEvolution;
-	/**
-	 * flag for an correct allele
-	 */
-	private static final int CORRECT_ALLELE_FLAG = 1;
-	/**
-	 * flag for an incorrect allele
+	 * the packed ideal genotype used by the target fitness method
 	 */
-	private static final int INCORRECT_ALLELE_FLAG = 0;
-	/**
-	 * flag for an unknown allele
-	 */
-	private static final int UNKNOWN_ALLELE_FLAG = 2;
+	private Genome idealGenotype;
 
-	private ArrayList<Gene> idealGenotype;
+	public Chromosome(Genome genome) {
+		this.genome = genome;
+	}
 
 	public Chromosome(ArrayList<Gene> genes) {
-		// SET THIS.GENES TO CHROMOSOMEFILEIO.READFILE AND THIS.FILE TO THE PARAMETER
-		// "FILENAME"
-		this.genes = genes;
-		this.calculateFitnessScore();
+		this(Genome.fromGenes(genes));
 	}
 
 	/**
 	 * Constructor for the Chromosome class.
 	 * 
-	 * @param genes ArrayList of genes to be included in the chromosome.
+	 * @param genome        the packed genes to be included in the chromosome.
+	 * @param fitnessMethod the fitness method used by the chromosome
+	 * @param idealGenotype the ideal genotype used by the target fitness method
 	 */
-	public Chromosome(ArrayList<Gene> genes, int fitnessMethod, ArrayList<Gene> idealGenotype) {
-
-		// SET THIS.GENES TO CHROMOSOMEFILEIO.READFILE AND THIS.FILE TO THE PARAMETER
-		// "FILENAME"
-		this.genes = genes;
-		this.fitnessMethod = fitnessMethod;
-		this.idealGenotype = idealGenotype;
-		this.calculateFitnessScore();
+	public Chromosome(Genome genome, int fitnessMethod, Genome idealGenotype) {
+		this(genome, OperatorRegistry.fitnessFunctionForFlag(fitnessMethod), idealGenotype);
 	}
 
-	public Chromosome(int numberOfGenes, int fitnessMethod, ArrayList<Gene> idealGenotype) {
-
-		if (fitnessMethod == BALDWINISM_FITNESS) {
-			for (int i = 0; i < numberOfGenes; i++) {
-				this.baldwinianEvolution = true;
-				this.genes.add(new Gene(baldwinianEvolution));
-			}
-
-		} else {
-			for (int i = 0; i < numberOfGenes; i++) {
-				this.genes.add(new Gene());
-			}
-		}
-		this.fitnessMethod = fitnessMethod;
+	/**
+	 * Constructor for the Chromosome class.
+	 * 
+	 * @param genome          the packed genes to be included in the chromosome.
+	 * @param fitnessFunction the fitness method used by the chromosome
+	 * @param idealGenotype   the ideal genotype used by the target fitness method
+	 */
+	public Chromosome(Genome genome, FitnessFunction fitnessFunction, Genome idealGenotype) {
+		this.genome = genome;
+		this.fitnessFunction = fitnessFunction;
 		this.idealGenotype = idealGenotype;
-		this.calculateFitnessScore();
-	}
-
-	private void calculateFitnessScore() {
-		if (this.fitnessMethod == NUM_1S) {
-			this.calculateFitnessScoreByNumOnes();
-		} else if (this.fitnessMethod == TARGET) {
-			this.calculateFitnessComparedToIdealImage(this.idealGenotype);
-		} else if (this.fitnessMethod == SYMMETRY) {
-			this.calculateFitnessBySymmetry();
-		} else if (this.fitnessMethod == BALDWINISM_FITNESS) {
-			this.calculateFitnessAccordingToBaldwinism();
-		} else if (this.fitnessMethod == BINARY_VALUE) {
-			this.calculateFitnessAccordingToBinaryValue();
-		} else {
-			System.err.println("Error: Choosing Fitness Method Problem");
-		}
 	}
 
 	/**
-	 * Calculates and returns the fitness score of the chromosome based on the
-	 * number of 1's in its genotype.
+	 * Constructor for the Chromosome class.
 	 * 
+	 * @param genes ArrayList of genes to be included in the chromosome.
 	 */
-	private void calculateFitnessScoreByNumOnes() {
-		for (Gene gene : genes) {
-			if (gene.getCurrentValue() == 1) {
-				this.fitnessScore++;
-			}
-
-		}
+	public Chromosome(ArrayList<Gene> genes, int fitnessMethod, ArrayList<Gene> idealGenotype) {
+		this(Genome.fromGenes(genes), fitnessMethod, idealGenotype == null ? null : Genome.fromGenes(idealGenotype));
 	}
 
-	/**
-	 * ensures: calculates and returns the fitness score of the chromosome based on
-	 * an ideal image
-	 * 
-	 * @param idealGenotype the list of genes that characterize the most desirable
-	 *                      genotype
-	 */
-	private void calculateFitnessComparedToIdealImage(ArrayList<Gene> idealGenotype) {
-		this.fitnessScore = 0;
-		for (int i = 0; i < this.genes.size(); i++) {
-			if (this.genes.get(i).getCurrentValue() == idealGenotype.get(i).getCurrentValue()) {
-				this.fitnessScore += 1;
-			}
-		}
+	public Chromosome(int numberOfGenes, int fitnessMethod, Genome idealGenotype) {
+		this(numberOfGenes, OperatorRegistry.fitnessFunctionForFlag(fitnessMethod), idealGenotype);
 	}
 
 	/**
-	 * ensures: calculates and returns the fitness score of the chromosome based on
-	 * how symmetrical its array of genes is.
+	 * Constructs a chromosome with random genes, drawn the way the fitness method
+	 * expects them.
+	 * 
+	 * @param numberOfGenes   the number of genes in the chromosome
+	 * @param fitnessFunction the fitness method used by the chromosome
+	 * @param idealGenotype   the ideal genotype used by the target fitness method
 	 */
-	private void calculateFitnessBySymmetry() {
-		this.fitnessScore = 0;
-		for (int i = 0; i < this.genes.size() / 2; i++) {
-			if (this.genes.get(i).getCurrentValue() == this.genes.get(this.genes.size() - (i + 1)).getCurrentValue()) {
-				this.fitnessScore += 1;
-			}
+	public Chromosome(int numberOfGenes, FitnessFunction fitnessFunction, Genome idealGenotype) {
+
+		if (fitnessFunction != null) {
+			this.genome = fitnessFunction.randomGenome(numberOfGenes);
+		} else {
+			this.genome = Genome.randomGenome(numberOfGenes);
 		}
+		this.fitnessFunction = fitnessFunction;
+		this.idealGenotype = idealGenotype;
 	}
 
 	/**
-	 * 
-	 * Calculates fitness according to Baldwinian .
-	 * 
-	 * @return void
-	 */
-	private void calculateFitnessAccordingToBaldwinism() {
-		int daysLeftWhenReachedBestFitness = 0;
-
-		for (int daysRemaining = LIFE_OF_CHROMOSOME; daysRemaining > 0; daysRemaining--) {
-			boolean allCorrect = true;
-			for (Gene gene : this.genes) {
-				Gene temp;
-				if (gene.getCurrentValue() == CORRECT_ALLELE_FLAG) {
-					temp = (new Gene(CORRECT_ALLELE_FLAG));
-				} else if (gene.getCurrentValue() == INCORRECT_ALLELE_FLAG) {
-					temp = (new Gene(INCORRECT_ALLELE_FLAG));
-				} else {
-					double randomNumber = Math.random();
-					if (randomNumber < 0.5) {
-						temp = (new Gene(CORRECT_ALLELE_FLAG));
-					} else {
-						temp = (new Gene(INCORRECT_ALLELE_FLAG));
-					}
-				}
-				if (temp.getCurrentValue() == INCORRECT_ALLELE_FLAG) {
-					allCorrect = false;
-				}
-
-			}
-
-			if (allCorrect == true) {
-				daysLeftWhenReachedBestFitness = daysRemaining;
-				System.out.println("Reached best fitness! Days remaining: " + daysRemaining);
-				break;
-			}
-
+	 * Calculates the fitness score with the fitness method of this chromosome.
+	 */
+	private void calculateFitnessScore() {
+		if (this.fitnessFunction != null) {
+			this.fitnessScore = this.fitnessFunction.evaluate(this.genome, this.idealGenotype);
+		} else {
+			System.err.println("Error: Choosing Fitness Method Problem");
 		}
-
-		this.fitnessScore = 1 + 19 * daysLeftWhenReachedBestFitness / 1000;
-
+		this.fitnessCalculated = true;
 	}
 
 	/**
-	 * Calculates the fitness score of the chromosome based on its binary value.<br>
-	 * The fitness score is the sum of the absolute differences between the target
-	 * binary score and the chromosome's binary value, modulo DEFAULT_UNIT. <br>
-	 * The binary value is calculated by concatenating the binary values of each
-	 * gene in the chromosome's ArrayList, and splitting the resulting string into
-	 * groups of size DEFAULT_UNIT. <br>
-	 * The binary value of each group is converted to an integer, and the sum of
-	 * these integers is used to calculate the fitness score.
+	 * Calculates the fitness score unless it is already up to date with the
+	 * genes. Called by PopulationWorkers, and before the score is read.
 	 */
-
-	private void calculateFitnessAccordingToBinaryValue() {
-		this.targetBinaryScore = (int) Math.pow(2, DEFAULT_UNIT) / 2;
-		this.fitnessScore = 0;
-		String numlists = "";
-		int binary_value = 0;
-		for (int i = 0; i < genes.size(); i++) {
-			if (i % DEFAULT_UNIT == 0 && i != 0) {
-				binary_value += (int) Long.parseLong(numlists, 2);
-				this.fitnessScore += Math.abs(targetBinaryScore - binary_value) % DEFAULT_UNIT;
-				numlists = "";
-			}
-			numlists += genes.get(i).getCurrentValue();
+	void calculateFitnessIfNeeded() {
+		if (!this.fitnessCalculated) {
+			this.calculateFitnessScore();
 		}
-
 	}
 
 	/**
@@ -332,19 +226,13 @@ public class Chromosome implements Comparable<Chromosome> {
 
 	/**
 	 * Calculates the number of correct, incorrect, and unknown alleles in the
-	 * chromosome, and sets the allelesCalculated flag to true.
+	 * chromosome by counting bits in the known and value words of the genome, and
+	 * sets the allelesCalculated flag to true.
 	 */
 	private void calculateAlleles() {
-		for (Gene g : genes) {
-			int currentValue = g.getCurrentValue();
-			if (currentValue == CORRECT_ALLELE_FLAG) {
-				this.correctAllele++;
-			} else if (currentValue == INCORRECT_ALLELE_FLAG) {
-				this.incorrectAllele++;
-			} else if (currentValue == UNKNOWN_ALLELE_FLAG) {
-				this.unknownAllele++;
-			}
-		}
+		this.correctAllele = this.genome.countCorrectAlleles();
+		this.incorrectAllele = this.genome.countIncorrectAlleles();
+		this.unknownAllele = this.genome.countUnknownAlleles();
 		this.allelesCalculated = true;
 	}
 
@@ -354,6 +242,7 @@ public class Chromosome implements Comparable<Chromosome> {
 	 * @return Integer value representing the fitness score of the chromosome.
 	 */
 	public int reportFitness() {
+		this.calculateFitnessIfNeeded();
 		return this.fitnessScore;
 	}
 
@@ -363,7 +252,16 @@ public class Chromosome implements Comparable<Chromosome> {
 	 * @return The fitness method used by the chromosome.
 	 */
 	public int getFitnessMethod() {
-		return this.fitnessMethod;
+		return this.fitnessFunction == null ? 0 : this.fitnessFunction.getFlag();
+	}
+
+	/**
+	 * Returns the fitness method used by the chromosome.
+	 *
+	 * @return The fitness method used by the chromosome, or null if there is none.
+	 */
+	public FitnessFunction getFitnessFunction() {
+		return this.fitnessFunction;
 	}
 
 	/**
@@ -371,25 +269,103 @@ public class Chromosome implements Comparable<Chromosome> {
 	 *
 	 * @return The ideal genotype for the chromosome.
 	 */
-	public ArrayList<Gene> getIdealGenotype() {
+	public Genome getIdealGenotype() {
 		return this.idealGenotype;
 	}
 
 	/**
-	 * Mutates the chromosome by randomly flipping the value of certain genes.
+	 * Mutates the chromosome by randomly flipping the value of certain genes, using
+	 * the random stream of the current thread.
+	 * 
+	 * @param mutateRate double value representing the expected number of genes
+	 *                   flipped; each gene flips with probability mutateRate / N.
+	 * @return the indices of the genes that were flipped, in increasing order.
+	 */
+	public int[] mutate(double mutateRate) {
+		return this.mutate(mutateRate, RandomStreams.current());
+	}
+
+	/**
+	 * Mutates the chromosome by randomly flipping the value of certain genes. The
+	 * fitness score is kept up to date as the genes flip. <br>
+	 * Instead of drawing a random number for every gene, the number of genes
+	 * skipped before the next flip is drawn from a geometric distribution, so the
+	 * work grows with the number of flips rather than the length of the genome.
 	 * 
-	 * @param mutateRate Double value representing the probability of a gene being
-	 *                   flipped.
-	 * @return ArrayList of mutated genes.
-	 */
-	public ArrayList<Gene> mutate(Double mutateRate) {
-		for (Gene g : this.genes) {
-			if (Math.random() < mutateRate / this.genes.size()) {
-				g.changeValue();
+	 * @param mutateRate double value representing the expected number of genes
+	 *                   flipped; each gene flips with probability mutateRate / N.
+	 * @param random     the random number generator to draw from
+	 * @return the indices of the genes that were flipped, in increasing order.
+	 */
+	public int[] mutate(double mutateRate, SplittableRandom random) {
+		int numberOfGenes = this.genome.size();
+		double flipProbability = mutateRate / numberOfGenes;
+		int[] flippedLoci;
+
+		if (numberOfGenes == 0 || !(flipProbability > 0)) {
+			flippedLoci = new int[0];
+		} else if (flipProbability >= 1) {
+			flippedLoci = new int[numberOfGenes];
+			for (int i = 0; i < numberOfGenes; i++) {
+				flippedLoci[i] = i;
+			}
+		} else {
+			flippedLoci = new int[INITIAL_FLIPPED_LOCI_CAPACITY];
+			int numberOfFlips = 0;
+			double logOfNoFlip = Math.log1p(-flipProbability);
+			int locus = -1;
+			while (true) {
+				double genesSkipped = Math.floor(Math.log(1.0 - random.nextDouble()) / logOfNoFlip);
+				if (genesSkipped >= numberOfGenes - locus - 1) {
+					break;
+				}
+				locus += (int) genesSkipped + 1;
+				if (numberOfFlips == flippedLoci.length) {
+					flippedLoci = Arrays.copyOf(flippedLoci, numberOfFlips * 2);
+				}
+				flippedLoci[numberOfFlips] = locus;
+				numberOfFlips++;
 			}
+			flippedLoci = Arrays.copyOf(flippedLoci, numberOfFlips);
 		}
 
-		return this.genes;
+		this.flipGenes(flippedLoci);
+		return flippedLoci;
+	}
+
+	/**
+	 * Flips the value of one gene and updates the fitness score.
+	 * 
+	 * @param index the index of the gene to flip
+	 */
+	public void flipGene(int index) {
+		this.flipGenes(new int[] { index });
+	}
+
+	/**
+	 * Flips the genes at the given indices. When the fitness method is
+	 * incremental, such as Number of 1s, Target and Symmetry, and the score is up
+	 * to date, the score is updated per flip in O(1) instead of being recalculated
+	 * over the whole genome. Otherwise the score is recalculated when it is next
+	 * needed.
+	 * 
+	 * @param flippedLoci the indices of the genes to flip
+	 */
+	private void flipGenes(int[] flippedLoci) {
+		if (flippedLoci.length == 0) {
+			return;
+		}
+		boolean incremental = this.fitnessCalculated && this.fitnessFunction != null
+				&& this.fitnessFunction.isIncremental();
+		for (int locus : flippedLoci) {
+			if (incremental) {
+				this.fitnessScore += this.fitnessFunction.fitnessChangeOfFlip(this.genome, this.idealGenotype, locus);
+			}
+			this.genome.flip(locus);
+		}
+		this.fitnessCalculated = incremental;
+		this.allelesCalculated = false;
+		this.genomeHashCalculated = false;
 	}
 
 	/**
@@ -401,34 +377,117 @@ public class Chromosome implements Comparable<Chromosome> {
 	public void getGenesFromFile(String fileNameAndLocation) {
 
 		try {
-			this.genes = FileIO.readFile(fileNameAndLocation);
+			this.genome = FileIO.readGenome(fileNameAndLocation);
+			this.fitnessCalculated = false;
+			this.allelesCalculated = false;
+			this.genomeHashCalculated = false;
 		} catch (InvalidChromosomeFormatException e) {
 			System.err.println(e.returnInvalidCharacterWarning());
 		}
 	}
 
 	/**
-	 * Returns the genes of this chromosome as an ArrayList.
+	 * Returns the content hash of the genome of this chromosome. The hash is
+	 * calculated once and kept until the genes change.
+	 * 
+	 * @return the content hash of the genome
+	 * @see Genome#contentHash()
+	 */
+	public long getGenomeHash() {
+		if (!this.genomeHashCalculated) {
+			this.genomeHash = this.genome.contentHash();
+			this.genomeHashCalculated = true;
+		}
+		return this.genomeHash;
+	}
+
+	/**
+	 * Returns the packed genes of this chromosome.
+	 * 
+	 * @return the genome of this chromosome.
+	 */
+	public Genome getGenome() {
+		return this.genome;
+	}
+
+	/**
+	 * Returns the genes of this chromosome as an ArrayList. Kept for compatibility
+	 * only: the list is a copy, so changing its genes does not change this
+	 * chromosome.
 	 * 
 	 * @return: the list of genes in this chromosome.
 	 */
 	public ArrayList<Gene> getGenesAsArrayList() {
-		return this.genes;
+		return this.genome.toGeneList();
 	}
 
 	/**
-	 * Creates a deep copy of this chromosome. The genes of the copy are new objects
-	 * with the same values as the original genes. The fitness method and ideal
-	 * genotype of the copy are the same as the original chromosome.
+	 * Creates a copy of this chromosome that acts as a deep copy. The genome is
+	 * copied on write: it shares its words with the original genome until one of
+	 * them is mutated. The fitness method and ideal genotype of the copy are the
+	 * same as the original chromosome, and so is its fitness score unless the
+	 * fitness method is random.
 	 *
-	 * @return a deep copy of this chromosome
+	 * @return a copy of this chromosome
 	 */
 	public Chromosome makeDeepCopy() {
-		ArrayList<Gene> newGenes = new ArrayList<Gene>();
-		for (Gene gene : this.genes) {
-			newGenes.add(new Gene(gene.getCurrentValue()));
-		}
-		return new Chromosome(newGenes, this.fitnessMethod, this.idealGenotype);
+		Chromosome copy = new Chromosome(this.genome.copy(), this.fitnessFunction, this.idealGenotype);
+		copy.copyScoresOf(this);
+		return copy;
+	}
+
+	/**
+	 * Turns this chromosome into a copy of another chromosome, writing into the
+	 * words of its own genome instead of making a new one. Used to fill a reused
+	 * population with the next offspring.
+	 *
+	 * @param parent the chromosome to copy, not this chromosome
+	 */
+	void becomeCopyOf(Chromosome parent) {
+		this.genome.copyFrom(parent.genome);
+		this.fitnessFunction = parent.fitnessFunction;
+		this.idealGenotype = parent.idealGenotype;
+		this.copyScoresOf(parent);
+	}
+
+	/**
+	 * Takes over whatever the parent has already calculated about its genome,
+	 * which this chromosome has just copied. A fitness score is only taken over
+	 * when the fitness method gives the same score every time, so a random one
+	 * such as Baldwinism scores the copy again.
+	 *
+	 * @param parent the chromosome whose genome this chromosome holds a copy of
+	 */
+	private void copyScoresOf(Chromosome parent) {
+		this.fitnessScore = parent.fitnessScore;
+		this.fitnessCalculated = parent.fitnessCalculated && this.fitnessFunction != null
+				&& this.fitnessFunction.isDeterministic();
+		this.correctAllele = parent.correctAllele;
+		this.incorrectAllele = parent.incorrectAllele;
+		this.unknownAllele = parent.unknownAllele;
+		this.allelesCalculated = parent.allelesCalculated;
+		this.genomeHash = parent.genomeHash;
+		this.genomeHashCalculated = parent.genomeHashCalculated;
+	}
+
+	/**
+	 * Performs a single-point crossover with another chromosome in place: every
+	 * gene from the crossover point on is swapped, and both fitness scores are
+	 * calculated again when next needed.
+	 *
+	 * @param other          the chromosome to cross with
+	 * @param crossoverPoint the index of the first gene swapped
+	 */
+	void swapTailsWith(Chromosome other, int crossoverPoint) {
+		this.genome.swapTails(other.genome, crossoverPoint);
+		other.fitnessFunction = this.fitnessFunction;
+		other.idealGenotype = this.idealGenotype;
+		this.fitnessCalculated = false;
+		this.allelesCalculated = false;
+		this.genomeHashCalculated = false;
+		other.fitnessCalculated = false;
+		other.allelesCalculated = false;
+		other.genomeHashCalculated = false;
 	}
 
 	/**
@@ -441,15 +500,76 @@ public class Chromosome implements Comparable<Chromosome> {
 	 */
 	@Override
 	public String toString() {
-		String genesAsString = "";
-		for (int i = 0; i < genes.size(); i++) {
-			genesAsString += genes.get(i).getCurrentValue();
+		StringBuilder genesAsString = new StringBuilder(this.textLength());
+		try {
+			this.writeTo(genesAsString);
+		} catch (IOException e) {
+			// a StringBuilder never throws
+		}
+		return genesAsString.toString();
+	}
+
+	/**
+	 * Writes the same text as toString() straight into the given output, one
+	 * character at a time, without building a String first.
+	 *
+	 * @param out where to write the chromosome, such as a buffered Writer
+	 * @throws IOException if the output cannot be written to
+	 */
+	public void writeTo(Appendable out) throws IOException {
+		for (int i = 0; i < this.genome.size(); i++) {
+			out.append((char) ('0' + this.genome.get(i)));
 			if ((i + 1) % 10 == 0) {
-				genesAsString += "\n";
+				out.append('\n');
 			}
 		}
-		genesAsString += "Fitness score: " + this.fitnessScore + "\n";
-		return genesAsString;
+		out.append("Fitness score: ").append(Integer.toString(this.reportFitness())).append('\n');
+	}
+
+	/**
+	 * Returns roughly how many characters toString() produces, so a buffer can be
+	 * sized once.
+	 *
+	 * @return the expected length of the text of this chromosome
+	 */
+	int textLength() {
+		return this.genome.size() + this.genome.size() / 10 + 32;
+	}
+
+	/**
+	 * Returns whether another object is a chromosome with exactly the same genes.
+	 * The cached genome hashes are compared first, so two different chromosomes
+	 * are almost always told apart without looking at their genes. The fitness
+	 * method and score are not compared, so equals is not consistent with
+	 * compareTo, which orders by fitness score.
+	 *
+	 * @param otherObject the object to compare with
+	 * @return true if the other object is a chromosome with the same genes
+	 */
+	@Override
+	public boolean equals(Object otherObject) {
+		if (this == otherObject) {
+			return true;
+		}
+		if (!(otherObject instanceof Chromosome)) {
+			return false;
+		}
+		Chromosome otherChromosome = (Chromosome) otherObject;
+		return this.getGenomeHash() == otherChromosome.getGenomeHash()
+				&& this.genome.sameAlleles(otherChromosome.getGenome());
+	}
+
+	/**
+	 * Returns a hash code made from the cached genome hash, so chromosomes can be
+	 * used as keys of a HashMap or HashSet without hashing their genes on every
+	 * lookup.
+	 *
+	 * @return the hash code of the genes of this chromosome
+	 */
+	@Override
+	public int hashCode() {
+		long genomeHash = this.getGenomeHash();
+		return (int) (genomeHash ^ (genomeHash >>> 32));
 	}
 
 	/**
@@ -465,9 +585,9 @@ public class Chromosome implements Comparable<Chromosome> {
 	 */
 	@Override
 	public int compareTo(Chromosome otherChromosome) {
-		if (this.fitnessScore > otherChromosome.reportFitness()) {
+		if (this.reportFitness() > otherChromosome.reportFitness()) {
 			return -1;
-		} else if (this.fitnessScore < otherChromosome.reportFitness()) {
+		} else if (this.reportFitness() < otherChromosome.reportFitness()) {
 			return 1;
 		} else {
 			return 0;
@@ -7,7 +7,6 @@ import java.awt.Window;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.IOException;
-import java.util.ArrayList;
 
 import javax.swing.ButtonModel;
 import javax.swing.JButton;
@@ -64,19 +63,13 @@ public class ChromosomeViewer {
 	/**
 	 * The chromosome to be viewed
 	 */
-	private Chromosome chromosome = new Chromosome(new ArrayList<Gene>());
+	private Chromosome chromosome = new Chromosome(new Genome(0));
 
 	public void setChromosome(Chromosome chromosome) {
 		this.chromosome = chromosome;
-		this.listOfGenes = chromosome.getGenesAsArrayList();
-		genesButton(listOfGenes);
+		genesButton(chromosome.getGenome());
 	}
 
-	/**
-	 * List of genes in the chromosome
-	 */
-	private ArrayList<Gene> listOfGenes;
-
 	/**
 	 * Mutation rate of the chromosome
 	 */
@@ -94,17 +87,16 @@ public class ChromosomeViewer {
 	}
 
 	/**
-	 * Returns the color for the given Gene based on its current value.
+	 * Returns the color for the given allele based on its current value.
 	 * 
-	 * @param currentGene the current Gene being evaluated
-	 * @return the color for the Gene. If the Gene's current value is true, return
-	 *         Color.BLACK. If the Gene's current value is false, return
-	 *         BACKGROUND_GENE_COLOR.
+	 * @param allele the current allele being evaluated
+	 * @return the color for the allele. If the allele is 1, return Color.BLACK. If
+	 *         the allele is 0, return BACKGROUND_GENE_COLOR.
 	 */
-	private Color setColor(Gene currentGene) {
-		if (currentGene.getCurrentValue() == 1) {
+	private Color setColor(int allele) {
+		if (allele == 1) {
 			return (Color.BLACK);
-		} else if (currentGene.getCurrentValue() == 0) {
+		} else if (allele == 0) {
 			return (BACKGROUND_GENE_COLOR);
 		} else {
 			return (DEFAULT_COLOR);
@@ -112,24 +104,23 @@ public class ChromosomeViewer {
 	}
 
 	/**
-	 * Creates buttons for each Gene in the given listOfGenes and adds them to the
+	 * Creates buttons for each gene in the given genome and adds them to the
 	 * genePanel. The background color of each button is determined by the current
-	 * value of the Gene. The buttons have an ActionListener that changes the Gene's
-	 * value and updates the button's background color.
+	 * value of the gene. The buttons have an ActionListener that flips the gene in
+	 * the chromosome and updates the button's background color.
 	 * 
-	 * @param listOfGenes the list of Genes to be displayed as buttons in the
-	 *                    genePanel.
+	 * @param genome the packed genes to be displayed as buttons in the genePanel.
 	 */
-	public void genesButton(ArrayList<Gene> listOfGenes) {
+	public void genesButton(Genome genome) {
 		if (genePanel.getComponentCount() > 0) {
 			genePanel.removeAll();
 		}
 		int rows = 1;
 		int lines[];
 
-		if (listOfGenes.size() > PER_ROW) {
-			rows = listOfGenes.size() / PER_ROW;
-			if (listOfGenes.size() % PER_ROW != 0) {
+		if (genome.size() > PER_ROW) {
+			rows = genome.size() / PER_ROW;
+			if (genome.size() % PER_ROW != 0) {
 				rows++;
 			}
 			lines = new int[rows];
@@ -137,14 +128,14 @@ public class ChromosomeViewer {
 				lines[i] = PER_ROW;
 
 			}
-			if (listOfGenes.size() % PER_ROW != 0) {
-				lines[rows - 1] = listOfGenes.size() % PER_ROW;
+			if (genome.size() % PER_ROW != 0) {
+				lines[rows - 1] = genome.size() % PER_ROW;
 			}
 
 		} else {
 			rows = 1;
 			lines = new int[1];
-			lines[0] = listOfGenes.size();
+			lines[0] = genome.size();
 		}
 
 		for (int i = 0; i < rows; i++) {
@@ -152,10 +143,9 @@ public class ChromosomeViewer {
 			JPanel geneRowPanel = new JPanel();
 			for (int j = 0; j < lines[i]; j++) {
 
-				Gene currentGene = listOfGenes.get(i * PER_ROW + j);
 				int index = i * PER_ROW + j;
 				JButton currentButton = new JButton("" + (index));
-				currentButton.setBackground(this.setColor(currentGene));
+				currentButton.setBackground(this.setColor(genome.get(index)));
 				currentButton.setContentAreaFilled(false);
 				currentButton.setOpaque(true);
 				currentButton.setBorderPainted(false);
@@ -165,8 +155,8 @@ public class ChromosomeViewer {
 				currentButton.addActionListener(new ActionListener() {
 					@Override
 					public void actionPerformed(ActionEvent e) {
-						currentGene.changeValue();
-						currentButton.setBackground(setColor(currentGene));
+						chromosome.flipGene(index);
+						currentButton.setBackground(setColor(chromosome.getGenome().get(index)));
 					}
 
 				});
@@ -211,8 +201,8 @@ public class ChromosomeViewer {
 
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				listOfGenes = chromosome.mutate(mutateRate);
-				genesButton(listOfGenes);
+				chromosome.mutate(mutateRate);
+				genesButton(chromosome.getGenome());
 			}
 		});
 		JLabel mutateRateLabel = new JLabel("M Rate: _/N");
@@ -251,9 +241,9 @@ public class ChromosomeViewer {
 					fileNameAndLocationLabel.setText(fileNameAndLocation);
 
 					try {
-						listOfGenes = FileIO.readFile(fileNameAndLocation);
-						chromosome = new Chromosome(listOfGenes);
-						genesButton(listOfGenes);
+						Genome genome = FileIO.readGenome(fileNameAndLocation);
+						chromosome = new Chromosome(genome);
+						genesButton(genome);
 						genePanel.repaint();
 					} catch (InvalidChromosomeFormatException e1) {
 						System.err.println(e1.returnInvalidCharacterWarning());
@@ -281,7 +271,7 @@ public class ChromosomeViewer {
 				if (filePicker.showSaveDialog(chromosomeFrame) == JFileChooser.APPROVE_OPTION) {
 
 					fileNameAndLocation = filePicker.getSelectedFile().getPath();
-					FileIO.updateTextFile(fileNameAndLocation, listOfGenes);
+					FileIO.updateTextFile(fileNameAndLocation, chromosome.getGenome());
 				}
 			}
 		});
@@ -67,14 +67,12 @@ public class EvolutionAnalysisViewer {
 	 * differentSelectionType is an array of strings that represent the different
 	 * types of parent selection for the genetic algorithm.
 	 */
-	private static final String[] differentSelectionType = { "Truncation", "Roulette Wheel", "Rank Selection",
-			"Baldwinism" };
+	private static final String[] differentSelectionType = OperatorRegistry.selectionStrategyNames();
 	/**
 	 * differentFitnessType is an array of strings that represent the different
 	 * types of fitness for the genetic algorithm.
 	 */
-	private static final String[] differentFitnessType = { "Number of 1", "Target Fitness", "Symmetry", "Baldwinism",
-			"Binary Value" };
+	private static final String[] differentFitnessType = OperatorRegistry.fitnessFunctionNames();
 	/**
 	 * defaultColor is the default Color for Color Chooser
 	 */
@@ -151,7 +149,8 @@ public class EvolutionAnalysisViewer {
 	/**
 	 * parentSelectionTypeString is a string that represents the type of parent
 	 * selection to use in the genetic algorithm. <br>
-	 * The possible values are "Truncation", "Roulette Wheel", and "Rank Selection".
+	 * The possible values are "Truncation", "Roulette Wheel", "Rank Selection",
+	 * "Stochastic Universal Sampling" and "Tournament".
 	 */
 	private String parentSelectionTypeString = "Truncation";
 	/**
@@ -218,6 +217,18 @@ public class EvolutionAnalysisViewer {
 	 */
 	private JLabel runningTime;
 
+	/**
+	 * an instance of the JLabel class that displays how many fitness scores were
+	 * found in the fitness cache and how many had to be calculated.
+	 */
+	private JLabel fitnessCacheCounts;
+
+	/**
+	 * an instance of the JLabel class that displays the seed of the current run,
+	 * so the run can be repeated.
+	 */
+	private JLabel runSeedLabel;
+
 	/**
 	 * a long integer representing the past time (in milliseconds).
 	 */
@@ -462,6 +473,49 @@ public class EvolutionAnalysisViewer {
 		genomeLengthPanel.add(genomeLengthField);
 		controlPanelGeneral.add(genomeLengthPanel);
 
+		// Fitness Cache Size
+		JPanel fitnessCachePanel = new JPanel();
+		JLabel fitnessCacheLable = new JLabel("Fitness Cache Size");
+		fitnessCachePanel.add(fitnessCacheLable);
+		JTextField fitnessCacheField = new JTextField(evolutionAnalysisViewer.getWidth() / TEXTFEILD_RATIO);
+		fitnessCacheField.addActionListener(new ActionListener() {
+
+			@Override
+			public void actionPerformed(ActionEvent e) {
+
+				sameEvolution = false;
+				geneticAlgorithmCalculator.setFitnessCacheSize(Integer.parseInt(fitnessCacheField.getText()));
+
+			}
+
+		});
+		fitnessCachePanel.add(fitnessCacheField);
+		controlPanelGeneral.add(fitnessCachePanel);
+
+		// Run Seed
+		JPanel runSeedPanel = new JPanel();
+		JLabel runSeedLable = new JLabel("Run Seed");
+		runSeedPanel.add(runSeedLable);
+		JTextField runSeedField = new JTextField(evolutionAnalysisViewer.getWidth() / TEXTFEILD_RATIO);
+		runSeedField.addActionListener(new ActionListener() {
+
+			@Override
+			public void actionPerformed(ActionEvent e) {
+
+				sameEvolution = false;
+				// an empty field draws a new seed for every run
+				if (runSeedField.getText().trim().isEmpty()) {
+					geneticAlgorithmCalculator.useNewRunSeedEachRun();
+				} else {
+					geneticAlgorithmCalculator.setRunSeed(Long.parseLong(runSeedField.getText().trim()));
+				}
+
+			}
+
+		});
+		runSeedPanel.add(runSeedField);
+		controlPanelGeneral.add(runSeedPanel);
+
 		// Program Run
 
 		startAndPause.addActionListener(new ActionListener() {
@@ -483,6 +537,7 @@ public class EvolutionAnalysisViewer {
 						geneticAlgorithmCalculator.startPopulationViewer();
 						timeGoes = 0;
 						geneticAlgorithmCalculator.createInitialGeneration();
+						runSeedLabel.setText("Run seed: " + geneticAlgorithmCalculator.getRunSeed());
 						evolutionAnalysisComponent.clearFitnessScoreLists();
 						updateComponent();
 						startAndPause.setText("Start");
@@ -511,9 +566,26 @@ public class EvolutionAnalysisViewer {
 		});
 		controlPanelRuner.add(resetButton);
 
+		JButton snapshotButton = new JButton("Save Snapshot");
+		snapshotButton.addActionListener(new ActionListener() {
+
+			@Override
+			public void actionPerformed(ActionEvent e) {
+
+				geneticAlgorithmCalculator.requestSnapshot();
+			}
+		});
+		controlPanelRuner.add(snapshotButton);
+
 		runningTime = new JLabel("The Program has run:" + this.timeGoes + "ms");
 		controlPanelRuner.add(runningTime);
 
+		fitnessCacheCounts = new JLabel("Fitness cache: 0 hits / 0 misses");
+		controlPanelRuner.add(fitnessCacheCounts);
+
+		runSeedLabel = new JLabel("Run seed: -");
+		controlPanelRuner.add(runSeedLabel);
+
 		// Dispaly
 
 		JPanel displayBestPanel = new JPanel();
@@ -882,6 +954,8 @@ public class EvolutionAnalysisViewer {
 				geneticAlgorithmCalculator.returnAverageCorrectAlleles(),
 				geneticAlgorithmCalculator.returnAverageIncorrectAlleles(),
 				geneticAlgorithmCalculator.returnAverageUnknownAlleles());
+		fitnessCacheCounts.setText("Fitness cache: " + geneticAlgorithmCalculator.returnFitnessCacheHits()
+				+ " hits / " + geneticAlgorithmCalculator.returnFitnessCacheMisses() + " misses");
 	}
 
 }
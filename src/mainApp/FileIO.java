@@ -1,7 +1,10 @@
 package mainApp;
 
+import java.awt.GraphicsEnvironment;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.ArrayList;
@@ -48,6 +51,20 @@ public class FileIO {
 
 	private static final String IO_EXCEPTION_NOTICE = "IO Exception! The file you selected may not exist. Please try a different file.";
 
+	/**
+	 * Shows an error in a dialog, unless there is no screen to show it on, as
+	 * when HeadlessRunner runs. The error is already on System.err either way.
+	 * 
+	 * @param message the error message
+	 * @param title   the title of the dialog
+	 */
+	private static void showErrorDialog(String message, String title) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return;
+		}
+		JOptionPane.showMessageDialog(null, message, title, JOptionPane.ERROR_MESSAGE);
+	}
+
 	/**
 	 * Update an existing text file with the contents of the given list of genes.
 	 * 
@@ -80,12 +97,48 @@ public class FileIO {
 
 		} catch (FileNotFoundException e) {
 			System.err.println(FILE_NOT_FOUND_EXCEPTION_NOTICE);
-			JOptionPane.showMessageDialog(null, FILE_NOT_FOUND_EXCEPTION_NOTICE, "File Not Found Exception",
-					JOptionPane.ERROR_MESSAGE);
+			showErrorDialog(FILE_NOT_FOUND_EXCEPTION_NOTICE, "File Not Found Exception");
 		}
 
 	};
 
+	/**
+	 * Update an existing text file with the contents of the given genome.
+	 * 
+	 * @param filePathName The file path of the file to update.
+	 * @param genome       The packed genes to write to the file.
+	 */
+	public static void updateTextFile(String filePathName, Genome genome) {
+
+		System.out.println("Writing your file!");
+
+		PrintWriter pw = null;
+
+		try {
+			pw = new PrintWriter(filePathName);
+
+			for (int i = 0; i < genome.size(); i++) {
+				int allele = genome.get(i);
+				if (allele == 1)
+					pw.print(1);
+				else if (allele == 0)
+					pw.print(0);
+				else
+					pw.print("X");
+				if ((i + 1) % NUM_GENES_PER_ROW == 0) {
+					pw.println();
+				}
+			}
+
+			pw.close();
+
+		} catch (FileNotFoundException e) {
+			System.err.println(FILE_NOT_FOUND_EXCEPTION_NOTICE);
+			showErrorDialog(FILE_NOT_FOUND_EXCEPTION_NOTICE, "File Not Found Exception");
+		}
+
+	}
+
 	/**
 	 * Write a new file with random binary genes.
 	 * 
@@ -100,8 +153,7 @@ public class FileIO {
 			pw = new PrintWriter(filename);
 		} catch (FileNotFoundException e) {
 			System.err.println(FILE_NOT_FOUND_EXCEPTION_NOTICE);
-			JOptionPane.showMessageDialog(null, FILE_NOT_FOUND_EXCEPTION_NOTICE, "File Not Found Exception",
-					JOptionPane.ERROR_MESSAGE);
+			showErrorDialog(FILE_NOT_FOUND_EXCEPTION_NOTICE, "File Not Found Exception");
 			e.printStackTrace();
 		}
 
@@ -110,7 +162,7 @@ public class FileIO {
 			String rowOfGenes = "";
 
 			for (int gene = 0; gene < NUM_GENES_PER_ROW; gene++) {
-				double randomNumber = Math.random();
+				double randomNumber = RandomStreams.current().nextDouble();
 
 				if (randomNumber > PROBABILITY_OF_GENE_BEING_ONE) {
 					rowOfGenes += "0";
@@ -135,8 +187,20 @@ public class FileIO {
 	 *                                          character.
 	 */
 	public static ArrayList<Gene> readFile(String filename) throws InvalidChromosomeFormatException {
+		return readGenome(filename).toGeneList();
+	}
+
+	/**
+	 * Read binary genes from a text file and return them packed in a Genome.
+	 * 
+	 * @param filename The file path of the file to read from.
+	 * @return The binary genes packed in a Genome.
+	 * @throws InvalidChromosomeFormatException if the file contains an invalid
+	 *                                          character.
+	 */
+	public static Genome readGenome(String filename) throws InvalidChromosomeFormatException {
 
-		ArrayList<Gene> listOfGenes = new ArrayList<Gene>();
+		StringBuilder alleles = new StringBuilder();
 
 		Scanner scanner = null;
 
@@ -151,15 +215,12 @@ public class FileIO {
 					Character currentCharacter = line.charAt(i);
 
 					int current = Integer.parseInt(currentCharacter.toString());
-					Gene currentGene;
 
 					if (current == 1 || current == 0) {
-						currentGene = new Gene(current);
+						alleles.append(currentCharacter);
 					} else {
-						currentGene = new Gene(0);
 						throw new InvalidChromosomeFormatException(current);
 					}
-					listOfGenes.add(currentGene);
 				}
 
 			}
@@ -167,10 +228,17 @@ public class FileIO {
 			System.err.println(e.returnInvalidCharacterWarning());
 		} catch (IOException e) {
 			System.err.println(IO_EXCEPTION_NOTICE);
-			JOptionPane.showMessageDialog(null, IO_EXCEPTION_NOTICE, "IO Exception", JOptionPane.ERROR_MESSAGE);
+			showErrorDialog(IO_EXCEPTION_NOTICE, "IO Exception");
 
 		}
-		return listOfGenes;
+
+		Genome genome = new Genome(alleles.length());
+		for (int i = 0; i < alleles.length(); i++) {
+			if (alleles.charAt(i) == '1') {
+				genome.set(i, 1);
+			}
+		}
+		return genome;
 	}
 
 	/**
@@ -191,10 +259,27 @@ public class FileIO {
 
 		} catch (FileNotFoundException e) {
 			System.err.println(FILE_NOT_FOUND_EXCEPTION_NOTICE);
-			JOptionPane.showMessageDialog(null, FILE_NOT_FOUND_EXCEPTION_NOTICE, "File Not Found Exception",
-					JOptionPane.ERROR_MESSAGE);
+			showErrorDialog(FILE_NOT_FOUND_EXCEPTION_NOTICE, "File Not Found Exception");
 		}
 
 	}
 
+	/**
+	 * 
+	 * Writes the given generation to the specified file location, streaming it
+	 * through a buffer instead of building the whole text as one String first.
+	 * The file holds exactly the text of generation.toString(). Nothing is shown
+	 * to the user, so it can be called from a background thread; the caller
+	 * reports a failure.
+	 * 
+	 * @param generation          the generation to be written to the file
+	 * @param fileNameAndLocation the file location to write the generation to
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void writeGenerationFile(Generation generation, String fileNameAndLocation) throws IOException {
+		try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileNameAndLocation))) {
+			generation.writeTo(writer);
+		}
+	}
+
 }
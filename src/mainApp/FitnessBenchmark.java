@@ -0,0 +1,158 @@
+package mainApp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Class: FitnessBenchmark <br>
+ * Purpose: Times the Number of 1s, Target and Symmetry fitness evaluations on
+ * packed genomes against the old gene-by-gene loops over an ArrayList of Gene.
+ * <br>
+ * <br>
+ * Restrictions: the timings are only rough. Every evaluation is timed ROUNDS
+ * times and the best time is kept, so the first rounds warm up the JIT. <br>
+ * For example:
+ *
+ * <pre>
+ * java mainApp.FitnessBenchmark
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see Genome
+ * @see StopWatch
+ */
+public class FitnessBenchmark {
+
+	/** the genome lengths to time */
+	private static final int[] GENOME_LENGTHS = { 1000, 10000, 100000, 1000000 };
+
+	/** how many alleles each evaluation is repeated over, in total */
+	private static final long ALLELES_PER_TIMING = 200000000L;
+
+	/** how many times each evaluation is timed */
+	private static final int ROUNDS = 3;
+
+	/** keeps the JIT from removing the timed loops */
+	private static long sink;
+
+	public static void main(String[] args) {
+		for (int length : GENOME_LENGTHS) {
+			Genome genome = Genome.randomGenome(length);
+			Genome idealGenotype = Genome.randomGenome(length);
+			ArrayList<Gene> genes = genome.toGeneList();
+			ArrayList<Gene> idealGenes = idealGenotype.toGeneList();
+			int repetitions = (int) Math.max(1, ALLELES_PER_TIMING / length);
+
+			long[] bestTimes = new long[6];
+			Arrays.fill(bestTimes, Long.MAX_VALUE);
+			for (int round = 0; round < ROUNDS; round++) {
+				bestTimes[0] = Math.min(bestTimes[0], timeNumOnesWithGenes(genes, repetitions));
+				bestTimes[1] = Math.min(bestTimes[1], timeNumOnesWithGenome(genome, repetitions));
+				bestTimes[2] = Math.min(bestTimes[2], timeTargetWithGenes(genes, idealGenes, repetitions));
+				bestTimes[3] = Math.min(bestTimes[3], timeTargetWithGenome(genome, idealGenotype, repetitions));
+				bestTimes[4] = Math.min(bestTimes[4], timeSymmetryWithGenes(genes, repetitions));
+				bestTimes[5] = Math.min(bestTimes[5], timeSymmetryWithGenome(genome, repetitions));
+			}
+
+			System.out.println("Genome length " + length + " (" + repetitions + " evaluations each)");
+			report("Number of 1s", bestTimes[0], bestTimes[1]);
+			report("Target", bestTimes[2], bestTimes[3]);
+			report("Symmetry", bestTimes[4], bestTimes[5]);
+		}
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	/**
+	 * Prints the time of the gene loop, the time of the genome evaluation and the
+	 * speedup between them.
+	 *
+	 * @param fitnessName the name of the fitness method
+	 * @param geneTime    the time of the gene loop in ms
+	 * @param genomeTime  the time of the genome evaluation in ms
+	 */
+	private static void report(String fitnessName, long geneTime, long genomeTime) {
+		double speedup = (double) geneTime / Math.max(1, genomeTime);
+		System.out.printf("  %-13s genes: %6d ms  genome: %6d ms  speedup: %.1fx%n", fitnessName, geneTime,
+				genomeTime, speedup);
+	}
+
+	private static long timeNumOnesWithGenes(ArrayList<Gene> genes, int repetitions) {
+		StopWatch timer = new StopWatch();
+		timer.start();
+		for (int r = 0; r < repetitions; r++) {
+			int fitnessScore = 0;
+			for (Gene gene : genes) {
+				if (gene.getCurrentValue() == 1) {
+					fitnessScore++;
+				}
+			}
+			sink += fitnessScore;
+		}
+		timer.stop();
+		return timer.getElapsedTime();
+	}
+
+	private static long timeNumOnesWithGenome(Genome genome, int repetitions) {
+		StopWatch timer = new StopWatch();
+		timer.start();
+		for (int r = 0; r < repetitions; r++) {
+			sink += genome.countCorrectAlleles();
+		}
+		timer.stop();
+		return timer.getElapsedTime();
+	}
+
+	private static long timeTargetWithGenes(ArrayList<Gene> genes, ArrayList<Gene> idealGenes, int repetitions) {
+		StopWatch timer = new StopWatch();
+		timer.start();
+		for (int r = 0; r < repetitions; r++) {
+			int fitnessScore = 0;
+			for (int i = 0; i < genes.size(); i++) {
+				if (genes.get(i).getCurrentValue() == idealGenes.get(i).getCurrentValue()) {
+					fitnessScore += 1;
+				}
+			}
+			sink += fitnessScore;
+		}
+		timer.stop();
+		return timer.getElapsedTime();
+	}
+
+	private static long timeTargetWithGenome(Genome genome, Genome idealGenotype, int repetitions) {
+		StopWatch timer = new StopWatch();
+		timer.start();
+		for (int r = 0; r < repetitions; r++) {
+			sink += genome.countMatchingAlleles(idealGenotype, genome.size());
+		}
+		timer.stop();
+		return timer.getElapsedTime();
+	}
+
+	private static long timeSymmetryWithGenes(ArrayList<Gene> genes, int repetitions) {
+		StopWatch timer = new StopWatch();
+		timer.start();
+		for (int r = 0; r < repetitions; r++) {
+			int fitnessScore = 0;
+			for (int i = 0; i < genes.size() / 2; i++) {
+				if (genes.get(i).getCurrentValue() == genes.get(genes.size() - (i + 1)).getCurrentValue()) {
+					fitnessScore += 1;
+				}
+			}
+			sink += fitnessScore;
+		}
+		timer.stop();
+		return timer.getElapsedTime();
+	}
+
+	private static long timeSymmetryWithGenome(Genome genome, int repetitions) {
+		StopWatch timer = new StopWatch();
+		timer.start();
+		for (int r = 0; r < repetitions; r++) {
+			sink += genome.countSymmetricAlleles();
+		}
+		timer.stop();
+		return timer.getElapsedTime();
+	}
+
+}
@@ -0,0 +1,87 @@
+package mainApp;
+
+/**
+ * Class: FitnessFunction <br>
+ * Purpose: A way of scoring a Genome. Every Chromosome holds the
+ * FitnessFunction it was created with and calls evaluate() on it directly, so
+ * the fitness method is looked up once per run instead of being branched on
+ * for every individual. <br>
+ * <br>
+ * Restrictions: implementations must be stateless, because one instance is
+ * shared by every chromosome of a run. An implementation that is not built in
+ * is found by OperatorRegistry through java.util.ServiceLoader: it needs a
+ * public constructor with no arguments and its class name listed in
+ * META-INF/services/mainApp.FitnessFunction. <br>
+ * For example:
+ *
+ * <pre>
+ * FitnessFunction fitnessFunction = OperatorRegistry.fitnessFunctionForName("Symmetry");
+ * int fitnessScore = fitnessFunction.evaluate(genome, idealGenotype);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see OperatorRegistry
+ * @see Chromosome
+ */
+public interface FitnessFunction {
+
+	/**
+	 * Returns the name shown for this fitness method in the viewer.
+	 *
+	 * @return the name of this fitness method
+	 */
+	public String getName();
+
+	/**
+	 * Returns the integer flag of this fitness method, such as 11 for Number of 1s.
+	 *
+	 * @return the flag of this fitness method
+	 */
+	public int getFlag();
+
+	/**
+	 * Creates a random genome for a new individual scored by this fitness method.
+	 *
+	 * @param numberOfGenes the number of genes of the genome
+	 * @return the new genome
+	 */
+	public Genome randomGenome(int numberOfGenes);
+
+	/**
+	 * Calculates the fitness score of a genome.
+	 *
+	 * @param genome        the genome to score
+	 * @param idealGenotype the ideal genotype of the run, which may be null
+	 * @return the fitness score of the genome
+	 */
+	public int evaluate(Genome genome, Genome idealGenotype);
+
+	/**
+	 * Returns whether evaluate() always gives the same score for the same genome,
+	 * so a copied chromosome can keep the score of the one it was copied from.
+	 *
+	 * @return false if the score of a genome depends on random numbers
+	 */
+	public boolean isDeterministic();
+
+	/**
+	 * Returns whether flipping one gene changes the fitness score by an amount
+	 * fitnessChangeOfFlip() can tell without scoring the whole genome again.
+	 *
+	 * @return true if fitnessChangeOfFlip() can be used
+	 */
+	public boolean isIncremental();
+
+	/**
+	 * Returns how much the fitness score changes when the gene at the given index
+	 * is flipped. Only called when isIncremental() returns true.
+	 *
+	 * @param genome        the genome before the flip
+	 * @param idealGenotype the ideal genotype of the run, which may be null
+	 * @param locus         the index of the gene about to be flipped
+	 * @return the change of the fitness score
+	 */
+	public int fitnessChangeOfFlip(Genome genome, Genome idealGenotype, int locus);
+
+}
@@ -28,7 +28,7 @@ class Gene {
 	private static final int UNKNOWN_ALLELE = 2;
 
 	public Gene() {
-		double randomValue = Math.random();
+		double randomValue = RandomStreams.current().nextDouble();
 		if (randomValue < 0.5) {
 			this.currentValue = CORRECT_ALLELE;
 		} else {
@@ -48,7 +48,7 @@ class Gene {
 
 	public Gene(boolean baldwinianEvolution) {
 		if (baldwinianEvolution == true) {
-			double randomValue = Math.random();
+			double randomValue = RandomStreams.current().nextDouble();
 			if (randomValue < 0.5) {
 				this.currentValue = UNKNOWN_ALLELE;
 			} else if (randomValue >= 0.5 && randomValue < 0.75) {
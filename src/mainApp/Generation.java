@@ -1,8 +1,10 @@
 package mainApp;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Random;
+import java.util.HashSet;
+import java.util.SplittableRandom;
 
 /**
  * Class: Generation
@@ -41,30 +43,8 @@ public class Generation {
 	/** Flag for mutation operation */
 	private static final boolean MUTATION = false;
 
-	/** Flag of parent selection: Truncation */
-	private static final int TRUNCATION = 0;
-	/** Flag of parent selection: Roulette Wheel */
-	private static final int ROULETTE_WHEEL = 1;
-	/** Flag of parent selection: Rank */
-	private static final int RANK = 2;
-	/** constant for parent selection in Baldwinian evolution */
-	private static final int BALDWINIAN_PARENT_SELECTION = 3;
-
-	/** Flag of Fitness Method: The number of ones in the ideal genotype */
-	private static final int NUM_1S = 11;
-	/** Flag of Fitness Method: The target number in the ideal genotype */
-	private static final int TARGET = 22;
-	/** Flag of Fitness Method:The symmetry in the ideal genotype */
-	private static final int SYMMETRY = 33;
-	/**
-	 * flag for the Baldwinism fitness in fitness evaluation
-	 */
-	private static final int BALDWINISM_FITNESS = 44;
-
-	/**
-	 * flag for the BinaryValue fitness in fitness evaluation
-	 */
-	private static final int BINARY_VALUE = 55;
+	/** The default number of individuals competing in each tournament */
+	private static final int DEFAULT_TOURNAMENT_SIZE = 2;
 
 	/**
 	 * The index of the best chromosome in this generation.
@@ -110,10 +90,20 @@ public class Generation {
 	 */
 	private boolean allelesCalculated = false;
 
+	/**
+	 * flag to confirm the individuals are sorted by fitness score, best first.
+	 * Cleared whenever the order of the individuals may have changed.
+	 */
+	private boolean sorted = false;
+
+	/** The number of individuals competing in each tournament */
+	private int tournamentSize = DEFAULT_TOURNAMENT_SIZE;
+
 	/** The array of individuals (Chromosomes) in the generation */
 	private Chromosome[] individuals;
-	/** The list of parents for the next generation */
-	private ArrayList<Chromosome> parentsForNextGeneration = new ArrayList<Chromosome>();
+
+	/** Copies, mutates and scores the individuals as batches */
+	private PopulationWorkers populationWorkers;
 
 	/**
 	 * Constructs a generation with the specified parameters.
@@ -124,15 +114,48 @@ public class Generation {
 	 * @param idealGenotype              the ideal genotype for the genetic
 	 *                                   algorithm
 	 */
-	public Generation(int populationSize, int numberOfGenesPerChromosome, int fitnessMethod,
-			ArrayList<Gene> idealGenotype) {
+	public Generation(int populationSize, int numberOfGenesPerChromosome, int fitnessMethod, Genome idealGenotype) {
+		this(populationSize, numberOfGenesPerChromosome, OperatorRegistry.fitnessFunctionForFlag(fitnessMethod),
+				idealGenotype);
+	}
+
+	/**
+	 * Constructs a generation with the specified parameters.
+	 *
+	 * @param populationSize             the size of the population
+	 * @param numberOfGenesPerChromosome the number of genes per chromosome
+	 * @param fitnessFunction            the fitness method to use
+	 * @param idealGenotype              the ideal genotype for the genetic
+	 *                                   algorithm
+	 */
+	public Generation(int populationSize, int numberOfGenesPerChromosome, FitnessFunction fitnessFunction,
+			Genome idealGenotype) {
+		this(populationSize, numberOfGenesPerChromosome, fitnessFunction, idealGenotype,
+				PopulationWorkers.sequential());
+	}
+
+	/**
+	 * Constructs a generation with the specified parameters, scoring the
+	 * individuals with the given workers.
+	 *
+	 * @param populationSize             the size of the population
+	 * @param numberOfGenesPerChromosome the number of genes per chromosome
+	 * @param fitnessFunction            the fitness method to use
+	 * @param idealGenotype              the ideal genotype for the genetic
+	 *                                   algorithm
+	 * @param populationWorkers          scores this generation and makes its
+	 *                                   offspring
+	 */
+	public Generation(int populationSize, int numberOfGenesPerChromosome, FitnessFunction fitnessFunction,
+			Genome idealGenotype, PopulationWorkers populationWorkers) {
 		this.populationSize = populationSize;
 		this.numberOfGenesPerChromosome = numberOfGenesPerChromosome;
+		this.populationWorkers = populationWorkers;
 		this.individuals = new Chromosome[this.populationSize];
 		for (int i = 0; i < populationSize; i++) {
-			individuals[i] = new Chromosome(numberOfGenesPerChromosome, fitnessMethod, idealGenotype);
+			individuals[i] = new Chromosome(numberOfGenesPerChromosome, fitnessFunction, idealGenotype);
 		}
-		FileIO.writeGenerationFile(this.toString(), "ChromosomeTextFiles/OriginalGeneration");
+		this.populationWorkers.evaluateFitness(this.individuals);
 	}
 
 	/**
@@ -145,9 +168,27 @@ public class Generation {
 	 */
 	public Generation(ArrayList<Chromosome> parents, boolean crossoverOrMutation, double mutationRate,
 			double elitismPercentage) {
+		this(parents, crossoverOrMutation, mutationRate, elitismPercentage, PopulationWorkers.sequential());
+	}
+
+	/**
+	 * Constructs a new generation from the specified list of parents, making and
+	 * scoring the offspring with the given workers.
+	 *
+	 * @param parents             the list of parents for the new generation
+	 * @param crossoverOrMutation flag indicating if the operation is crossover or
+	 *                            mutation
+	 * @param mutationRate        the rate of mutation, if mutation is chosen
+	 * @param elitismPercentage   the fraction of the best individuals to preserve
+	 * @param populationWorkers   makes and scores the offspring of this generation
+	 *                            and the next
+	 */
+	public Generation(ArrayList<Chromosome> parents, boolean crossoverOrMutation, double mutationRate,
+			double elitismPercentage, PopulationWorkers populationWorkers) {
 
+		this.populationWorkers = populationWorkers;
 		this.populationSize = parents.size();
-		this.numberOfGenesPerChromosome = parents.get(0).getGenesAsArrayList().size();
+		this.numberOfGenesPerChromosome = parents.get(0).getGenome().size();
 
 		int numToPreserve = this.calculateNumberOfChromosomesToPreserveFromElitismPercentage(elitismPercentage);
 
@@ -159,6 +200,106 @@ public class Generation {
 		this.sortChromosomesByFitnessScore();
 	}
 
+	/**
+	 * Constructs a generation holding the given individuals, such as the
+	 * individuals of every island of an IslandModel, so they can be measured as
+	 * one population. The individuals are not copied or scored again.
+	 *
+	 * @param individuals the individuals, at least one; the array is kept and
+	 *                    sorted
+	 */
+	Generation(Chromosome[] individuals) {
+		this.populationWorkers = PopulationWorkers.sequential();
+		this.populationSize = individuals.length;
+		this.numberOfGenesPerChromosome = individuals[0].getGenome().size();
+		this.individuals = individuals;
+		this.sortChromosomesByFitnessScore();
+	}
+
+	/**
+	 * Creates a copy of this generation whose individuals are copies of the
+	 * individuals of this generation, with their fitness scores. The genomes are
+	 * copied on write, so this costs no word arrays until one of them changes.
+	 *
+	 * @return the copy of this generation
+	 */
+	Generation makeDeepCopy() {
+		Chromosome[] copies = new Chromosome[this.individuals.length];
+		for (int i = 0; i < copies.length; i++) {
+			copies[i] = this.individuals[i].makeDeepCopy();
+		}
+		return new Generation(copies);
+	}
+
+	/**
+	 * Replaces the least fit individuals with the given migrants from other
+	 * populations, the first migrant taking the place of the least fit
+	 * individual. The fittest individual is never replaced, so at most
+	 * populationSize - 1 migrants are taken.
+	 *
+	 * @param migrants the migrants, which become individuals of this generation
+	 *                 and must not be kept anywhere else
+	 */
+	void replaceWorstWith(ArrayList<Chromosome> migrants) {
+		this.sortChromosomesByFitnessScore();
+		int numberOfMigrants = Math.min(migrants.size(), this.populationSize - 1);
+		for (int i = 0; i < numberOfMigrants; i++) {
+			this.individuals[this.populationSize - 1 - i] = migrants.get(i);
+		}
+		this.sorted = false;
+		this.allelesCalculated = false;
+		this.populationWorkers.evaluateFitness(this.individuals);
+		this.sortChromosomesByFitnessScore();
+	}
+
+	/**
+	 * Overwrites the individuals of this generation with the offspring of the
+	 * given parents, the same way the parents constructor makes them, but
+	 * writing into the chromosomes and genomes this generation already has
+	 * instead of making new ones.
+	 *
+	 * @param parents             the list of parents, none of them individuals of
+	 *                            this generation
+	 * @param crossoverOrMutation flag indicating if the operation is crossover or
+	 *                            mutation
+	 * @param mutationRate        the rate of mutation
+	 * @param elitismPercentage   the fraction of the best individuals to preserve
+	 */
+	void breedFrom(ArrayList<Chromosome> parents, boolean crossoverOrMutation, double mutationRate,
+			double elitismPercentage) {
+		int numToPreserve = this.calculateNumberOfChromosomesToPreserveFromElitismPercentage(elitismPercentage);
+		this.sorted = false;
+		this.allelesCalculated = false;
+
+		// a selection method may return fewer parents than the population size,
+		// so they are used again in order rather than shrinking the population
+		this.populationWorkers.copyParents(this.individuals, parents);
+		this.populationWorkers.evaluateFitness(this.individuals);
+		selectBestChromosomes(this.individuals, numToPreserve);
+
+		if (crossoverOrMutation == CROSSOVER && this.populationSize - numToPreserve >= 2) {
+			SplittableRandom random = RandomStreams.current();
+			int randomIndex1 = numToPreserve + random.nextInt(this.populationSize - numToPreserve - 1);
+			int randomIndex2 = numToPreserve + random.nextInt(this.populationSize - numToPreserve - 1);
+			this.individuals[randomIndex1].swapTailsWith(this.individuals[randomIndex2],
+					random.nextInt(this.numberOfGenesPerChromosome));
+		}
+
+		this.populationWorkers.mutate(this.individuals, numToPreserve, mutationRate);
+		this.populationWorkers.evaluateFitness(this.individuals);
+		this.sortChromosomesByFitnessScore();
+	}
+
+	/**
+	 * Sets the workers that make and score the offspring written into this
+	 * generation by breedFrom().
+	 *
+	 * @param populationWorkers the workers to use
+	 */
+	void setPopulationWorkers(PopulationWorkers populationWorkers) {
+		this.populationWorkers = populationWorkers;
+	}
+
 	/**
 	 * Sets the size of the population.
 	 *
@@ -177,6 +318,26 @@ public class Generation {
 		this.numberOfGenesPerChromosome = numGenes;
 	}
 
+	/**
+	 * Sets the number of individuals competing in each tournament of tournament
+	 * selection.
+	 *
+	 * @param tournamentSize the number of individuals per tournament
+	 */
+	public void setTournamentSize(int tournamentSize) {
+		this.tournamentSize = tournamentSize;
+	}
+
+	/**
+	 * Returns the number of individuals competing in each tournament of tournament
+	 * selection.
+	 *
+	 * @return the number of individuals per tournament
+	 */
+	public int getTournamentSize() {
+		return this.tournamentSize;
+	}
+
 	/**
 	 * Chooses the next set of parents for generating the next Generation, based on
 	 * the parentSelectionType provided as an argument.
@@ -184,27 +345,34 @@ public class Generation {
 	 * @param parentSelectionType an int, which indicates the flag of method of
 	 *                            selecting parents
 	 *                            <p>
-	 *                            0 = TRUNCATION, 1 = ROULETTE_WHEEL, 2 = RANK
+	 *                            0 = TRUNCATION, 1 = ROULETTE_WHEEL, 2 = RANK, 4 =
+	 *                            STOCHASTIC_UNIVERSAL_SAMPLING, 5 = TOURNAMENT
 	 * @return ArrayList of Chromosome objects, representing the next set of parents
 	 */
 
 	public ArrayList<Chromosome> chooseNextParents(int parentSelectionType, double elitismPercentage) {
+		return this.chooseNextParents(OperatorRegistry.selectionStrategyForFlag(parentSelectionType),
+				elitismPercentage);
+	}
+
+	/**
+	 * Chooses the next set of parents for generating the next Generation with the
+	 * given selection strategy.
+	 * 
+	 * @param selectionStrategy the method of selecting parents
+	 * @param elitismPercentage the fraction of the best individuals to preserve
+	 * @return ArrayList of Chromosome objects, representing the next set of parents
+	 */
+	public ArrayList<Chromosome> chooseNextParents(SelectionStrategy selectionStrategy, double elitismPercentage) {
 
 		int numberOfChromosomesToPreserveAsInt = this
 				.calculateNumberOfChromosomesToPreserveFromElitismPercentage(elitismPercentage);
 
-		if (parentSelectionType == TRUNCATION) {
-			return this.chooseNextParentsWithTruncation(numberOfChromosomesToPreserveAsInt);
-		} else if (parentSelectionType == ROULETTE_WHEEL) {
-			return this.chooseNextParentsWithRouletteWheel(numberOfChromosomesToPreserveAsInt);
-		} else if (parentSelectionType == RANK) {
-			return this.chooseParentsWithRanked(numberOfChromosomesToPreserveAsInt);
-		} else if (parentSelectionType == BALDWINIAN_PARENT_SELECTION) {
-			return this.chooseParentsWithBaldwinian(numberOfChromosomesToPreserveAsInt);
-		} else {
+		if (selectionStrategy == null) {
 			System.err.println("Invalid parent selection type chosen!! No parents have been generated.");
 			return null;
 		}
+		return selectionStrategy.chooseParents(this, numberOfChromosomesToPreserveAsInt);
 	}
 
 	/**
@@ -224,20 +392,13 @@ public class Generation {
 			Chromosome newChromosome = parents.get(i).makeDeepCopy();
 			newIndividuals[i] = newChromosome;
 		}
+		this.populationWorkers.evaluateFitness(newIndividuals);
 
-		Arrays.sort(newIndividuals);
+		selectBestChromosomes(newIndividuals, numberOfChromosomesToPreserve);
 
-		for (int i = numberOfChromosomesToPreserve; i < this.populationSize; i++) {
-			newIndividuals[i].mutate(mutationRate);
-		}
-
-		Arrays.sort(newIndividuals);
+		this.populationWorkers.mutate(newIndividuals, numberOfChromosomesToPreserve, mutationRate);
+		this.populationWorkers.evaluateFitness(newIndividuals);
 
-		System.out.println("Individuals: ");
-		for (int i = 0; i < newIndividuals.length; i++) {
-			System.out.print(newIndividuals[i].reportFitness() + " ");
-		}
-		System.out.println("\n");
 		return newIndividuals;
 	}
 
@@ -257,27 +418,25 @@ public class Generation {
 			Chromosome newChromosome = parents.get(i).makeDeepCopy();
 			newIndividuals[i] = newChromosome;
 		}
+		this.populationWorkers.evaluateFitness(newIndividuals);
 
-		Arrays.sort(newIndividuals);
-
-		Random randomNumberGenerator = new Random();
-		int randomIndex1 = numberOfChromosomesToPreserve
-				+ randomNumberGenerator.nextInt(this.populationSize - numberOfChromosomesToPreserve - 1);
-		int randomIndex2 = numberOfChromosomesToPreserve
-				+ randomNumberGenerator.nextInt(this.populationSize - numberOfChromosomesToPreserve - 1);
+		selectBestChromosomes(newIndividuals, numberOfChromosomesToPreserve);
 
 		if (this.populationSize - numberOfChromosomesToPreserve >= 2) {
+			SplittableRandom randomNumberGenerator = RandomStreams.current();
+			int randomIndex1 = numberOfChromosomesToPreserve
+					+ randomNumberGenerator.nextInt(this.populationSize - numberOfChromosomesToPreserve - 1);
+			int randomIndex2 = numberOfChromosomesToPreserve
+					+ randomNumberGenerator.nextInt(this.populationSize - numberOfChromosomesToPreserve - 1);
 			Chromosome[] crossoverChildren = this.makeAChildUsingCrossover(newIndividuals[randomIndex1],
 					newIndividuals[randomIndex2]);
 			newIndividuals[randomIndex1] = crossoverChildren[0];
 			newIndividuals[randomIndex2] = crossoverChildren[1];
 		}
 
-		for (int i = numberOfChromosomesToPreserve; i < this.populationSize; i++) {
-			newIndividuals[i].mutate(mutationRate);
-		}
+		this.populationWorkers.mutate(newIndividuals, numberOfChromosomesToPreserve, mutationRate);
+		this.populationWorkers.evaluateFitness(newIndividuals);
 
-		Arrays.sort(newIndividuals);
 		return newIndividuals;
 
 	}
@@ -298,31 +457,17 @@ public class Generation {
 	 */
 	public Chromosome[] makeAChildUsingCrossover(Chromosome chromosomeA, Chromosome chromosomeB) {
 
-		Random randomNumberGenerator = new Random();
+		SplittableRandom randomNumberGenerator = RandomStreams.current();
 		int crossoverPoint = randomNumberGenerator.nextInt(this.numberOfGenesPerChromosome);
 
-		ArrayList<Gene> parentAGenes = chromosomeA.getGenesAsArrayList();
-		ArrayList<Gene> parentBGenes = chromosomeB.getGenesAsArrayList();
-		ArrayList<Gene> genesForChild1 = new ArrayList<Gene>();
-		ArrayList<Gene> genesForChild2 = new ArrayList<Gene>();
-
-		for (int i = 0; i < crossoverPoint; i++) {
-			genesForChild1.add(parentAGenes.get(i));
-			genesForChild2.add(parentBGenes.get(i));
-		}
-
-		for (int i = crossoverPoint; i < this.numberOfGenesPerChromosome; i++) {
-			genesForChild1.add(parentBGenes.get(i));
-			genesForChild2.add(parentAGenes.get(i));
-		}
+		Genome genesForChild1 = Genome.splice(chromosomeA.getGenome(), chromosomeB.getGenome(), crossoverPoint);
+		Genome genesForChild2 = Genome.splice(chromosomeB.getGenome(), chromosomeA.getGenome(), crossoverPoint);
 
-		Chromosome templateForChild1 = new Chromosome(genesForChild1, chromosomeA.getFitnessMethod(),
+		// splice() already makes new genomes, so the children own them without a copy
+		Chromosome child1 = new Chromosome(genesForChild1, chromosomeA.getFitnessFunction(),
 				chromosomeA.getIdealGenotype());
-		Chromosome child1 = templateForChild1.makeDeepCopy();
-
-		Chromosome templateForChild2 = new Chromosome(genesForChild2, chromosomeA.getFitnessMethod(),
+		Chromosome child2 = new Chromosome(genesForChild2, chromosomeA.getFitnessFunction(),
 				chromosomeA.getIdealGenotype());
-		Chromosome child2 = templateForChild2.makeDeepCopy();
 
 		Chromosome[] crossoverChildren = new Chromosome[PARENTS_RATIO];
 		crossoverChildren[0] = child1;
@@ -335,173 +480,83 @@ public class Generation {
 	/**
 	 * ensure: Sorts the individuals in the current generation based on their
 	 * fitness scores. The individuals with higher fitness scores will be sorted to
-	 * the front of the array. After sorting, the updated individuals list is
-	 * written to a file.
+	 * the front of the array. If the individuals are already sorted nothing is
+	 * done, so a generation is sorted at most once however often this is called.
+	 * Writing generations to files is left to the GenerationSnapshotSink.
 	 * 
 	 * @return void
 	 */
 	public void sortChromosomesByFitnessScore() {
-		Arrays.sort(this.individuals);
-		FileIO.writeGenerationFile(this.toString(), "ChromosomeTextFiles/SortedGeneration");
-	}
-
-	/**
-	 * 
-	 * The {@code chooseNextParentsWithTruncation} method is used to select the next
-	 * parents for the generation. The method sorts the individuals in the
-	 * population by their fitness scores and uses truncation selection to choose
-	 * the next parents.
-	 * 
-	 * @param numberOfChromosomesToPreserve the number of chromosomes to preserve in
-	 *                                      the population
-	 * @return an ArrayList of Chromosome objects representing the next parents for
-	 *         the generation
-	 */
-	private ArrayList<Chromosome> chooseNextParentsWithTruncation(int numberOfChromosomesToPreserve) {
-		this.sortChromosomesByFitnessScore();
-
-		Chromosome[] temporaryArray = new Chromosome[this.populationSize];
-
-		if (numberOfChromosomesToPreserve > populationSize / PARENTS_RATIO) {
-			for (int i = 0; i < numberOfChromosomesToPreserve; i++) {
-				temporaryArray[i] = individuals[i];
-			}
-
-			for (int i = 0; i < this.populationSize - numberOfChromosomesToPreserve; i++) {
-				temporaryArray[i + numberOfChromosomesToPreserve] = individuals[i];
-			}
-
-			Arrays.sort(temporaryArray);
-
-			for (int i = 0; i < this.populationSize; i++) {
-				this.parentsForNextGeneration.add(temporaryArray[i]);
-			}
-		} else {
-
-			for (int i = 0; i < individuals.length / PARENTS_RATIO; i++) {
-				for (int j = 0; j < PARENTS_RATIO; j++) {
-					this.parentsForNextGeneration.add(individuals[i]);
-				}
-			}
+		if (this.sorted) {
+			return;
 		}
-
-		return this.parentsForNextGeneration;
+		Arrays.sort(this.individuals);
+		this.sorted = true;
 	}
 
 	/**
-	 *
-	 * chooseNextParentsWithRouletteWheel is a method that implements a roulette
-	 * wheel selection strategy for choosing the next set of parents in the genetic
-	 * algorithm.
+	 * ensure: Moves the count fittest individuals to the front of the array, in no
+	 * particular order, without sorting the whole generation. If the individuals
+	 * are already sorted nothing is done.
 	 * 
-	 * @param numberOfChromosomesToPreserve the number of chromosomes to preserve
-	 *                                      from the current generation to the next
-	 *                                      generation.
-	 * @return the ArrayList of Chromosomes that will serve as the parents for the
-	 *         next generation.
+	 * @param count the number of fittest individuals needed at the front
 	 */
-	private ArrayList<Chromosome> chooseNextParentsWithRouletteWheel(int numberOfChromosomesToPreserve) {
-		this.sortChromosomesByFitnessScore();
-
-		for (int i = 0; i < numberOfChromosomesToPreserve; i++) {
-			this.parentsForNextGeneration.add(individuals[i]);
-		}
-
-		ArrayList<Chromosome> probabilityBasedParentPool = new ArrayList<Chromosome>();
-
-		for (int i = 0; i < this.populationSize; i++) {
-			for (int j = 0; j < this.individuals[i].reportFitness(); j++) {
-				probabilityBasedParentPool.add(individuals[i]);
-			}
-		}
-
-		for (int i = numberOfChromosomesToPreserve; i < this.populationSize; i++) {
-			Random randomNumberGenerator = new Random();
-			int randomNumber = randomNumberGenerator.nextInt(probabilityBasedParentPool.size());
-			this.parentsForNextGeneration.add(probabilityBasedParentPool.get(randomNumber));
-
+	public void moveBestChromosomesToFront(int count) {
+		if (this.sorted) {
+			return;
 		}
-
-		return this.parentsForNextGeneration;
+		selectBestChromosomes(this.individuals, count);
 	}
 
 	/**
+	 * Rearranges the chromosomes so the count fittest come first, in no particular
+	 * order, and every chromosome after them is at most as fit as each of them.
+	 * This is a quickselect, which takes O(N) time on average instead of the
+	 * O(N log N) of a full sort.
 	 * 
-	 * The chooseParentsWithRanked method is used to select parents for the next
-	 * generation of chromosomes in a genetic algorithm. This method uses the ranked
-	 * parent selection method to choose the next parents.
-	 * 
-	 * @param numberOfChromosomesToPreserve The number of top-performing chromosomes
-	 *                                      that should be preserved in the next
-	 *                                      generation.
-	 * @return An ArrayList of Chromosome objects that have been selected as the
-	 *         parents for the next generation.
-	 */
-	private ArrayList<Chromosome> chooseParentsWithRanked(int numberOfChromosomesToPreserve) {
-		this.sortChromosomesByFitnessScore();
-
-		for (int i = 0; i < numberOfChromosomesToPreserve; i++) {
-			this.parentsForNextGeneration.add(individuals[i]);
-		}
-
-		ArrayList<Chromosome> rankBasedParentPool = new ArrayList<Chromosome>();
-		int decliningScoreValue = individuals.length;
-
-		for (int i = 0; i < this.individuals.length; i++) {
-			for (int j = 0; j < decliningScoreValue; j++) {
-				rankBasedParentPool.add(individuals[i]);
+	 * @param chromosomes the chromosomes to rearrange
+	 * @param count       the number of fittest chromosomes needed at the front
+	 */
+	static void selectBestChromosomes(Chromosome[] chromosomes, int count) {
+		int left = 0;
+		int right = chromosomes.length - 1;
+		while (left < count && count <= right) {
+			int pivotFitness = chromosomes[(left + right) >>> 1].reportFitness();
+			int i = left;
+			int j = right;
+			while (i <= j) {
+				while (chromosomes[i].reportFitness() > pivotFitness) {
+					i++;
+				}
+				while (chromosomes[j].reportFitness() < pivotFitness) {
+					j--;
+				}
+				if (i <= j) {
+					Chromosome temporary = chromosomes[i];
+					chromosomes[i] = chromosomes[j];
+					chromosomes[j] = temporary;
+					i++;
+					j--;
+				}
 			}
-			decliningScoreValue -= 1;
-		}
-
-		for (int i = numberOfChromosomesToPreserve; i < this.populationSize; i++) {
-			Random randomNumberGenerator = new Random();
-			int randomNumber = randomNumberGenerator.nextInt(rankBasedParentPool.size());
-			this.parentsForNextGeneration.add(rankBasedParentPool.get(randomNumber));
-		}
-
-		return this.parentsForNextGeneration;
-	}
-
-	private ArrayList<Chromosome> chooseParentsWithBaldwinian(int numberOfChromosomesToPreserve) {
-
-		for (int i = 0; i < numberOfChromosomesToPreserve; i++) {
-			this.parentsForNextGeneration.add(individuals[i]);
-		}
-
-		ArrayList<Chromosome> probabilityBasedParentPool = new ArrayList<Chromosome>();
-
-		for (int i = 0; i < this.populationSize; i++) {
-			for (int j = 0; j < this.individuals[i].reportFitness(); j++) {
-				probabilityBasedParentPool.add(individuals[i]);
+			// chromosomes[left..j] are at least as fit as the pivot and
+			// chromosomes[i..right] at most, so only one side can hold the boundary
+			if (count <= j) {
+				right = j;
+			} else if (count >= i) {
+				left = i;
+			} else {
+				return;
 			}
 		}
-
-		for (int i = numberOfChromosomesToPreserve; i < this.populationSize; i++) {
-
-			Random randomNumberGenerator = new Random();
-			int randomIndex1 = randomNumberGenerator.nextInt(probabilityBasedParentPool.size());
-			int randomIndex2 = randomNumberGenerator.nextInt(probabilityBasedParentPool.size());
-
-			Chromosome parent1 = probabilityBasedParentPool.get(randomIndex1);
-			Chromosome parent2 = probabilityBasedParentPool.get(randomIndex2);
-
-			Chromosome[] crossoverChildren = this.makeAChildUsingCrossover(parent1, parent2);
-			Chromosome selectedChild = crossoverChildren[0];
-
-			this.parentsForNextGeneration.add(selectedChild);
-
-		}
-		this.calculateAverageAlleles();
-		return this.parentsForNextGeneration;
 	}
 
 	/**
 	 * 
 	 * This method returns the fitness score of the best chromosome in the
 	 * population. It sorts the chromosomes in the population based on their fitness
-	 * score and returns the fitness score of the first chromosome, which is the
-	 * chromosome with the highest fitness score.
+	 * score, unless they are sorted already, and returns the fitness score of the
+	 * first chromosome, which is the chromosome with the highest fitness score.
 	 * 
 	 * @return int - the fitness score of the best chromosome in the population. If
 	 *         there are no chromosomes in the population, it returns 0.
@@ -516,7 +571,8 @@ public class Generation {
 	}
 
 	/**
-	 * Returns the fitness score of the worst chromosome in the population.
+	 * Returns the fitness score of the worst chromosome in the population. Once the
+	 * generation is sorted this is a lookup of the last chromosome.
 	 *
 	 * @return the fitness score of the worst chromosome in the population
 	 */
@@ -545,29 +601,28 @@ public class Generation {
 
 	/**
 	 * 
-	 * Returns the Hamming distance of the population.
+	 * Returns the Hamming distance of the population: the mean Hamming distance
+	 * over every pair of individuals. It is worked out from how many individuals
+	 * hold each allele at each locus, in O(N*L) rather than by comparing every
+	 * pair.
 	 * 
-	 * @return the Hamming distance of the population.
+	 * @return the Hamming distance of the population, 0 if there are fewer than
+	 *         two individuals.
 	 */
 	public int returnHammingDistance() {
 
-		int startIndex = 0;
-		int totalHammingDistance = 0;
-		int numberOfComparisons = 0;
+		if (this.populationSize < 2) {
+			return 0;
+		}
 
+		Genome[] genomes = new Genome[this.populationSize];
 		for (int i = 0; i < this.populationSize; i++) {
-			for (int j = startIndex; j < this.populationSize; j++) {
-				if (i != j) {
-					totalHammingDistance += computeHammingDistanceForTwoChromosomes(this.individuals[i],
-							this.individuals[j]);
-					startIndex += 1;
-					numberOfComparisons += 1;
-				}
-			}
+			genomes[i] = this.individuals[i].getGenome();
 		}
 
-		totalHammingDistance = totalHammingDistance / numberOfComparisons;
-		return totalHammingDistance;
+		long numberOfComparisons = (long) this.populationSize * (this.populationSize - 1) / 2;
+		long totalHammingDistance = Genome.totalPairwiseHammingDistance(genomes);
+		return (int) (totalHammingDistance / numberOfComparisons);
 	}
 
 	/**
@@ -583,47 +638,26 @@ public class Generation {
 	 */
 	public int computeHammingDistanceForTwoChromosomes(Chromosome chromosomeA, Chromosome chromosomeB) {
 
-		ArrayList<Gene> chromosomeAGenes = chromosomeA.getGenesAsArrayList();
-		ArrayList<Gene> chromosomeBGenes = chromosomeB.getGenesAsArrayList();
-
-		int hammingDistance = 0;
-
-		for (int i = 0; i < chromosomeAGenes.size(); i++) {
-			if (chromosomeAGenes.get(i).getCurrentValue() != chromosomeBGenes.get(i).getCurrentValue()) {
-				hammingDistance += 1;
-			}
-		}
-
-		return hammingDistance;
+		return chromosomeA.getGenome().hammingDistance(chromosomeB.getGenome());
 	}
 
 	/**
 	 * 
-	 * Returns the number of unique individuals in the population.
+	 * Returns the number of unique individuals in the population. Chromosomes
+	 * hash and compare by their genes, with genomes only compared allele by allele
+	 * when their cached hashes collide, so this takes expected O(N*L/64) time, and
+	 * O(N) once the hashes of the chromosomes are known.
 	 * 
 	 * @return int - The number of unique individuals in the population.
 	 */
 	public int returnNumUniqueIndividuals() {
 
-		ArrayList<Chromosome> uniqueIndividualsList = new ArrayList<Chromosome>();
+		HashSet<Chromosome> uniqueIndividuals = new HashSet<Chromosome>(this.individuals.length * 2);
 
 		for (Chromosome newChromosome : this.individuals) {
-			boolean alreadyInList = false;
-
-			if (uniqueIndividualsList.size() > 0) {
-				for (Chromosome addedChromosome : uniqueIndividualsList) {
-					if (this.computeHammingDistanceForTwoChromosomes(addedChromosome, newChromosome) == 0) {
-						alreadyInList = true;
-					}
-				}
-			}
-
-			if (alreadyInList == false) {
-				uniqueIndividualsList.add(newChromosome);
-			}
+			uniqueIndividuals.add(newChromosome);
 		}
-		System.out.println("Number of unique individuals: " + uniqueIndividualsList.size());
-		return uniqueIndividualsList.size();
+		return uniqueIndividuals.size();
 	}
 
 	public int returnAverageCorrectAlleles() {
@@ -697,6 +731,7 @@ public class Generation {
 	 * @return Chromosome - the Best Chromosome in this generation
 	 */
 	public Chromosome getBestChromosome() {
+		this.sortChromosomesByFitnessScore();
 		return this.individuals[BEST_CHROMOSOME_INDEX];
 	}
 
@@ -711,12 +746,32 @@ public class Generation {
 
 	@Override
 	public String toString() {
-		String generationAsString = "";
-		generationAsString += "Beginning of generation";
+		int textLength = 64;
+		for (int i = 0; i < individuals.length; i++) {
+			textLength += individuals[i].textLength() + 1;
+		}
+		StringBuilder generationAsString = new StringBuilder(textLength);
+		try {
+			this.writeTo(generationAsString);
+		} catch (IOException e) {
+			// a StringBuilder never throws
+		}
+		return generationAsString.toString();
+	}
+
+	/**
+	 * Writes the same text as toString() straight into the given output, one
+	 * chromosome after another, without building a String first.
+	 *
+	 * @param out where to write the generation, such as a buffered Writer
+	 * @throws IOException if the output cannot be written to
+	 */
+	public void writeTo(Appendable out) throws IOException {
+		out.append("Beginning of generation");
 		for (int i = 0; i < individuals.length; i++) {
-			generationAsString += individuals[i].toString() + "\n";
+			individuals[i].writeTo(out);
+			out.append('\n');
 		}
-		generationAsString += "End of generation";
-		return generationAsString;
+		out.append("End of generation");
 	}
 }
@@ -0,0 +1,207 @@
+package mainApp;
+
+import java.util.Arrays;
+
+/**
+ * Class: GenerationHistory <br>
+ * Purpose: Remembers the generations of a run without keeping every
+ * population alive. Depending on the history policy it keeps only the current
+ * generation, the last few generations in a ring buffer, or no generations at
+ * all. The best, average and worst fitness scores of every generation are
+ * always kept, three ints per generation, so a run of a million generations
+ * can still be analysed. <br>
+ * <br>
+ * Restrictions: a generation that has left the history cannot be looked up
+ * again, only its fitness scores. <br>
+ * For example:
+ *
+ * <pre>
+ * GenerationHistory history = new GenerationHistory();
+ * history.setHistoryPolicy(GenerationHistory.KEEP_LAST_GENERATIONS, 10);
+ * history.add(generation);
+ * int best = history.getBestFitness(0);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see Generation
+ * @see GeneticAlgorithmCalculator
+ */
+public class GenerationHistory {
+
+	/** flag for keeping only the current generation */
+	public static final int KEEP_CURRENT_ONLY = 0;
+
+	/** flag for keeping the last few generations */
+	public static final int KEEP_LAST_GENERATIONS = 1;
+
+	/** flag for keeping no generations, only their fitness scores */
+	public static final int SUMMARY_ONLY = 2;
+
+	/** the starting number of generations the fitness score arrays hold */
+	private static final int INITIAL_SUMMARY_CAPACITY = 256;
+
+	/** the history policy, one of the flags above */
+	private int historyPolicy = KEEP_CURRENT_ONLY;
+
+	/** the last generations kept, the newest at (generationCount - 1) % length */
+	private Generation[] recentGenerations = new Generation[1];
+
+	/** the number of generations added since the history was cleared */
+	private int generationCount = 0;
+
+	/** the best fitness score of every generation */
+	private int[] bestFitness = new int[INITIAL_SUMMARY_CAPACITY];
+
+	/** the average fitness score of every generation */
+	private int[] averageFitness = new int[INITIAL_SUMMARY_CAPACITY];
+
+	/** the worst fitness score of every generation */
+	private int[] worstFitness = new int[INITIAL_SUMMARY_CAPACITY];
+
+	/**
+	 * Sets which generations are kept and clears the history.
+	 *
+	 * @param historyPolicy             KEEP_CURRENT_ONLY, KEEP_LAST_GENERATIONS or
+	 *                                  SUMMARY_ONLY
+	 * @param numberOfGenerationsToKeep how many generations KEEP_LAST_GENERATIONS
+	 *                                  keeps; ignored by the other policies
+	 */
+	public void setHistoryPolicy(int historyPolicy, int numberOfGenerationsToKeep) {
+		if (historyPolicy == KEEP_CURRENT_ONLY) {
+			this.recentGenerations = new Generation[1];
+		} else if (historyPolicy == KEEP_LAST_GENERATIONS) {
+			this.recentGenerations = new Generation[Math.max(1, numberOfGenerationsToKeep)];
+		} else if (historyPolicy == SUMMARY_ONLY) {
+			this.recentGenerations = new Generation[0];
+		} else {
+			System.err.println("Invalid history policy chosen!! The history policy is not changed.");
+			return;
+		}
+		this.historyPolicy = historyPolicy;
+		this.clear();
+	}
+
+	/**
+	 * Returns the history policy.
+	 *
+	 * @return KEEP_CURRENT_ONLY, KEEP_LAST_GENERATIONS or SUMMARY_ONLY
+	 */
+	public int getHistoryPolicy() {
+		return this.historyPolicy;
+	}
+
+	/**
+	 * Forgets every generation and fitness score, for a new run.
+	 */
+	public void clear() {
+		Arrays.fill(this.recentGenerations, null);
+		this.generationCount = 0;
+	}
+
+	/**
+	 * Adds the newest generation, recording its fitness scores and keeping it if
+	 * the history policy allows.
+	 *
+	 * @param generation the generation that was just made
+	 */
+	public void add(Generation generation) {
+		this.addSummary(generation.returnBestChromosomeFitnessScore(),
+				generation.returnAveChromosomeFitnessScore(), generation.returnWorstChromosomeFitnessScore());
+		if (this.recentGenerations.length > 0) {
+			this.recentGenerations[(this.generationCount - 1) % this.recentGenerations.length] = generation;
+		}
+	}
+
+	/**
+	 * Adds the fitness scores of the newest generation without the generation
+	 * itself, such as a generation made in another process.
+	 *
+	 * @param best    the best fitness score of the generation
+	 * @param average the average fitness score of the generation
+	 * @param worst   the worst fitness score of the generation
+	 */
+	public void addSummary(int best, int average, int worst) {
+		if (this.generationCount == this.bestFitness.length) {
+			int newCapacity = this.bestFitness.length * 2;
+			this.bestFitness = Arrays.copyOf(this.bestFitness, newCapacity);
+			this.averageFitness = Arrays.copyOf(this.averageFitness, newCapacity);
+			this.worstFitness = Arrays.copyOf(this.worstFitness, newCapacity);
+		}
+		this.bestFitness[this.generationCount] = best;
+		this.averageFitness[this.generationCount] = average;
+		this.worstFitness[this.generationCount] = worst;
+		if (this.recentGenerations.length > 0) {
+			this.recentGenerations[this.generationCount % this.recentGenerations.length] = null;
+		}
+		this.generationCount++;
+	}
+
+	/**
+	 * Returns the number of generations added since the history was cleared.
+	 *
+	 * @return the number of generations
+	 */
+	public int getGenerationCount() {
+		return this.generationCount;
+	}
+
+	/**
+	 * Returns a generation if it is still kept.
+	 *
+	 * @param generationNumber the number of the generation, 0 for the first
+	 * @return the generation, or null if it is no longer kept
+	 */
+	public Generation getGeneration(int generationNumber) {
+		int oldestKept = this.generationCount - this.recentGenerations.length;
+		if (generationNumber < Math.max(0, oldestKept) || generationNumber >= this.generationCount) {
+			return null;
+		}
+		return this.recentGenerations[generationNumber % this.recentGenerations.length];
+	}
+
+	/**
+	 * Returns the best fitness score of a generation.
+	 *
+	 * @param generationNumber the number of the generation, 0 for the first
+	 * @return the best fitness score
+	 */
+	public int getBestFitness(int generationNumber) {
+		return this.bestFitness[this.checkGenerationNumber(generationNumber)];
+	}
+
+	/**
+	 * Returns the average fitness score of a generation.
+	 *
+	 * @param generationNumber the number of the generation, 0 for the first
+	 * @return the average fitness score
+	 */
+	public int getAverageFitness(int generationNumber) {
+		return this.averageFitness[this.checkGenerationNumber(generationNumber)];
+	}
+
+	/**
+	 * Returns the worst fitness score of a generation.
+	 *
+	 * @param generationNumber the number of the generation, 0 for the first
+	 * @return the worst fitness score
+	 */
+	public int getWorstFitness(int generationNumber) {
+		return this.worstFitness[this.checkGenerationNumber(generationNumber)];
+	}
+
+	/**
+	 * Checks that a generation has been added.
+	 *
+	 * @param generationNumber the number of the generation, 0 for the first
+	 * @return the same generation number
+	 */
+	private int checkGenerationNumber(int generationNumber) {
+		if (generationNumber < 0 || generationNumber >= this.generationCount) {
+			throw new IndexOutOfBoundsException(
+					"Generation " + generationNumber + " of " + this.generationCount + " generations");
+		}
+		return generationNumber;
+	}
+
+}
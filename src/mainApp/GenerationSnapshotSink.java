@@ -0,0 +1,191 @@
+package mainApp;
+
+import java.awt.GraphicsEnvironment;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+
+/**
+ * Class: GenerationSnapshotSink <br>
+ * Purpose: Writes generations to the ChromosomeTextFiles folder on a
+ * background thread, so running the genetic algorithm never waits on the disk.
+ * Either every Nth generation is written, or a generation is written on
+ * demand. The first generation goes to OriginalGeneration and every later one
+ * to SortedGeneration. <br>
+ * <br>
+ * Restrictions: a generation must not be changed after it is handed over. If
+ * generations arrive faster than they can be written, only the newest one
+ * waiting for each file is written. Snapshots are off until
+ * setSnapshotInterval() is called, and while they are off nothing touches the
+ * disk and no thread is started. A file that cannot be written is reported on
+ * System.err and, unless there is no screen, in a dialog shown on the event
+ * dispatch thread. <br>
+ * For example:
+ *
+ * <pre>
+ * GenerationSnapshotSink snapshotSink = new GenerationSnapshotSink();
+ * snapshotSink.setSnapshotInterval(10);
+ * snapshotSink.offer(generation, generationNumber);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see Generation
+ * @see FileIO
+ */
+public class GenerationSnapshotSink {
+
+	/** the file the first generation is written to */
+	private static final String ORIGINAL_GENERATION_FILE = "ChromosomeTextFiles/OriginalGeneration";
+
+	/** the file every later generation is written to */
+	private static final String SORTED_GENERATION_FILE = "ChromosomeTextFiles/SortedGeneration";
+
+	/** a generation is written when its number is a multiple of this, 0 is off */
+	private int snapshotInterval = 0;
+
+	/** the newest first generation waiting to be written */
+	private final AtomicReference<Generation> pendingOriginalGeneration = new AtomicReference<Generation>();
+
+	/** the newest later generation waiting to be written */
+	private final AtomicReference<Generation> pendingSortedGeneration = new AtomicReference<Generation>();
+
+	/** the background thread that writes the files, started on first use */
+	private ExecutorService writer;
+
+	/**
+	 * Sets how often generations are written.
+	 *
+	 * @param snapshotInterval a generation is written when its number is a
+	 *                         multiple of this; 0 or below turns snapshots off
+	 */
+	public void setSnapshotInterval(int snapshotInterval) {
+		this.snapshotInterval = Math.max(0, snapshotInterval);
+	}
+
+	/**
+	 * Returns how often generations are written.
+	 *
+	 * @return the snapshot interval, 0 if snapshots are off
+	 */
+	public int getSnapshotInterval() {
+		return this.snapshotInterval;
+	}
+
+	/**
+	 * Writes the generation in the background if its number is a multiple of the
+	 * snapshot interval. Does nothing while snapshots are off.
+	 *
+	 * @param generation       the generation that was just made
+	 * @param generationNumber the number of the generation, 0 for the first
+	 */
+	public void offer(Generation generation, int generationNumber) {
+		if (this.snapshotInterval > 0 && generationNumber % this.snapshotInterval == 0) {
+			this.snapshot(generation, generationNumber);
+		}
+	}
+
+	/**
+	 * Writes the generation in the background, whatever the snapshot interval.
+	 *
+	 * @param generation       the generation to write
+	 * @param generationNumber the number of the generation, 0 for the first
+	 */
+	public void snapshot(Generation generation, int generationNumber) {
+		final AtomicReference<Generation> pendingGeneration;
+		final String fileNameAndLocation;
+		if (generationNumber == 0) {
+			pendingGeneration = this.pendingOriginalGeneration;
+			fileNameAndLocation = ORIGINAL_GENERATION_FILE;
+		} else {
+			pendingGeneration = this.pendingSortedGeneration;
+			fileNameAndLocation = SORTED_GENERATION_FILE;
+		}
+
+		// a write is already queued for this file, it will pick up this generation
+		if (pendingGeneration.getAndSet(generation) != null) {
+			return;
+		}
+		this.writer().execute(new Runnable() {
+			@Override
+			public void run() {
+				Generation generationToWrite = pendingGeneration.getAndSet(null);
+				if (generationToWrite != null) {
+					try {
+						FileIO.writeGenerationFile(generationToWrite, fileNameAndLocation);
+					} catch (IOException e) {
+						reportWriteError(fileNameAndLocation, e);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Reports a snapshot that could not be written. The writer thread must not
+	 * touch Swing, so the dialog is handed to the event dispatch thread.
+	 *
+	 * @param fileNameAndLocation the file that could not be written
+	 * @param e                   the reason
+	 */
+	private static void reportWriteError(String fileNameAndLocation, IOException e) {
+		final String message = "The generation snapshot " + fileNameAndLocation + " cannot be written: "
+				+ e.getMessage();
+		System.err.println(message + "!!!");
+		if (GraphicsEnvironment.isHeadless()) {
+			return;
+		}
+		SwingUtilities.invokeLater(new Runnable() {
+			@Override
+			public void run() {
+				JOptionPane.showMessageDialog(null, message, "IO Exception", JOptionPane.ERROR_MESSAGE);
+			}
+		});
+	}
+
+	/**
+	 * Waits until every snapshot handed over so far has been written.
+	 */
+	public void flush() {
+		if (this.writer == null) {
+			return;
+		}
+		try {
+			this.writer.submit(new Runnable() {
+				@Override
+				public void run() {
+				}
+			}).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			System.err.println("Error exists when writing a generation snapshot!!!");
+		}
+	}
+
+	/**
+	 * Returns the background writer, starting it the first time.
+	 *
+	 * @return the background writer
+	 */
+	private synchronized ExecutorService writer() {
+		if (this.writer == null) {
+			this.writer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable task) {
+					Thread writerThread = new Thread(task, "generation-snapshot-writer");
+					writerThread.setDaemon(true);
+					return writerThread;
+				}
+			});
+		}
+		return this.writer;
+	}
+
+}
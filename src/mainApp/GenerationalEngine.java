@@ -0,0 +1,219 @@
+package mainApp;
+
+import java.util.ArrayList;
+
+/**
+ * Class: GenerationalEngine <br>
+ * Purpose: Runs the genetic algorithm on two populations that are made once
+ * and then reused: the offspring of the current generation are written into
+ * the chromosomes and genomes of the other population, and the two swap
+ * places. After the first generations nothing the size of a genome is
+ * allocated, only the small parent list and selection arrays.
+ * GeneticAlgorithmCalculator and IslandModel hand their generations to an
+ * engine while only the current generation is kept. <br>
+ * <br>
+ * Restrictions: a generation returned by getCurrentGeneration() is overwritten
+ * two generations later, so it must not be kept, added to a history list or
+ * handed to a background thread. The population size never changes. Make a
+ * new Generation for each step when older generations have to be kept. <br>
+ * For example:
+ *
+ * <pre>
+ * GenerationalEngine engine = new GenerationalEngine(100, 100, new NumberOfOnesFitness(), null,
+ * 		new TruncationSelection(), true, 1, 0.1);
+ * for (int i = 0; i &lt; 1000; i++) {
+ * 	engine.createNewGeneration();
+ * }
+ * int best = engine.getCurrentGeneration().returnBestChromosomeFitnessScore();
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see Generation
+ * @see AllocationBenchmark
+ */
+public class GenerationalEngine {
+
+	/** The default number of individuals competing in each tournament */
+	private static final int DEFAULT_TOURNAMENT_SIZE = 2;
+
+	/** the population the parents are chosen from */
+	private Generation currentGeneration;
+
+	/** the population the offspring are written into */
+	private Generation nextGeneration;
+
+	/** the method of choosing parents */
+	private SelectionStrategy selectionStrategy;
+
+	/** true for crossover and mutation, false for mutation only */
+	private boolean crossoverOrMutation;
+
+	/** the expected number of genes flipped per chromosome */
+	private double mutationRate;
+
+	/** the fraction of the best individuals preserved each generation */
+	private double elitismPercentage;
+
+	/** the number of individuals competing in each tournament */
+	private int tournamentSize = DEFAULT_TOURNAMENT_SIZE;
+
+	/** the number of the current generation, 0 for the first */
+	private int generationNumber = 0;
+
+	/**
+	 * Makes the first generation at random and a second population of the same
+	 * size to write offspring into.
+	 *
+	 * @param populationSize             the number of individuals per generation
+	 * @param numberOfGenesPerChromosome the number of genes per chromosome
+	 * @param fitnessFunction            the fitness method
+	 * @param idealGenotype              the ideal genotype used by the target
+	 *                                   fitness method
+	 * @param selectionStrategy          the method of choosing parents
+	 * @param crossoverOrMutation        true for crossover and mutation, false
+	 *                                   for mutation only
+	 * @param mutationRate               the expected number of genes flipped per
+	 *                                   chromosome
+	 * @param elitismPercentage          the fraction of the best individuals
+	 *                                   preserved each generation, from 0 to 1
+	 */
+	public GenerationalEngine(int populationSize, int numberOfGenesPerChromosome, FitnessFunction fitnessFunction,
+			Genome idealGenotype, SelectionStrategy selectionStrategy, boolean crossoverOrMutation,
+			double mutationRate, double elitismPercentage) {
+		this.currentGeneration = new Generation(populationSize, numberOfGenesPerChromosome, fitnessFunction,
+				idealGenotype);
+		this.currentGeneration.sortChromosomesByFitnessScore();
+		this.nextGeneration = new Generation(populationSize, numberOfGenesPerChromosome, fitnessFunction,
+				idealGenotype);
+		this.selectionStrategy = selectionStrategy;
+		this.crossoverOrMutation = crossoverOrMutation;
+		this.mutationRate = mutationRate;
+		this.elitismPercentage = elitismPercentage;
+	}
+
+	/**
+	 * Goes on from a generation made elsewhere. The other population is made of
+	 * copies of its individuals, which take fresh words the first time offspring
+	 * are written into them.
+	 *
+	 * @param firstGeneration     the generation the parents are chosen from
+	 *                            first, which the engine overwrites later
+	 * @param selectionStrategy   the method of choosing parents
+	 * @param crossoverOrMutation true for crossover and mutation, false for
+	 *                            mutation only
+	 * @param mutationRate        the expected number of genes flipped per
+	 *                            chromosome
+	 * @param elitismPercentage   the fraction of the best individuals preserved
+	 *                            each generation, from 0 to 1
+	 */
+	public GenerationalEngine(Generation firstGeneration, SelectionStrategy selectionStrategy,
+			boolean crossoverOrMutation, double mutationRate, double elitismPercentage) {
+		this.currentGeneration = firstGeneration;
+		this.nextGeneration = firstGeneration.makeDeepCopy();
+		this.selectionStrategy = selectionStrategy;
+		this.crossoverOrMutation = crossoverOrMutation;
+		this.mutationRate = mutationRate;
+		this.elitismPercentage = elitismPercentage;
+	}
+
+	/**
+	 * Sets the method of choosing parents.
+	 *
+	 * @param selectionStrategy the method of choosing parents
+	 */
+	public void setSelectionStrategy(SelectionStrategy selectionStrategy) {
+		this.selectionStrategy = selectionStrategy;
+	}
+
+	/**
+	 * Sets whether offspring are made by crossover and mutation or by mutation
+	 * only.
+	 *
+	 * @param crossoverOrMutation true for crossover and mutation, false for
+	 *                            mutation only
+	 */
+	public void setCrossoverOrMutation(boolean crossoverOrMutation) {
+		this.crossoverOrMutation = crossoverOrMutation;
+	}
+
+	/**
+	 * Sets the expected number of genes flipped per chromosome.
+	 *
+	 * @param mutationRate the expected number of genes flipped per chromosome
+	 */
+	public void setMutationRate(double mutationRate) {
+		this.mutationRate = mutationRate;
+	}
+
+	/**
+	 * Sets the fraction of the best individuals preserved each generation.
+	 *
+	 * @param elitismPercentage the fraction of the best individuals, from 0 to 1
+	 */
+	public void setElitismPercentage(double elitismPercentage) {
+		this.elitismPercentage = elitismPercentage;
+	}
+
+	/**
+	 * Sets the number of individuals competing in each tournament of tournament
+	 * selection.
+	 *
+	 * @param tournamentSize the number of individuals per tournament
+	 */
+	public void setTournamentSize(int tournamentSize) {
+		this.tournamentSize = tournamentSize;
+	}
+
+	/**
+	 * Sets the workers that copy, mutate and score the offspring.
+	 *
+	 * @param populationWorkers the workers to use
+	 */
+	public void setPopulationWorkers(PopulationWorkers populationWorkers) {
+		this.currentGeneration.setPopulationWorkers(populationWorkers);
+		this.nextGeneration.setPopulationWorkers(populationWorkers);
+	}
+
+	/**
+	 * Writes the offspring of the current generation into the other population
+	 * and makes it the current generation.
+	 *
+	 * @return the new current generation
+	 */
+	public Generation createNewGeneration() {
+		this.currentGeneration.setTournamentSize(this.tournamentSize);
+		ArrayList<Chromosome> parents = this.currentGeneration.chooseNextParents(this.selectionStrategy,
+				this.elitismPercentage);
+		if (parents == null || parents.isEmpty()) {
+			return this.currentGeneration;
+		}
+		this.nextGeneration.breedFrom(parents, this.crossoverOrMutation, this.mutationRate,
+				this.elitismPercentage);
+
+		Generation parentGeneration = this.currentGeneration;
+		this.currentGeneration = this.nextGeneration;
+		this.nextGeneration = parentGeneration;
+		this.generationNumber++;
+		return this.currentGeneration;
+	}
+
+	/**
+	 * Returns the current generation. It is overwritten two generations later.
+	 *
+	 * @return the current generation
+	 */
+	public Generation getCurrentGeneration() {
+		return this.currentGeneration;
+	}
+
+	/**
+	 * Returns the number of the current generation.
+	 *
+	 * @return the number of generations made since the first, 0 for the first
+	 */
+	public int getGenerationNumber() {
+		return this.generationNumber;
+	}
+
+}
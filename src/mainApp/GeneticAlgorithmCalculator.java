@@ -1,7 +1,11 @@
 package mainApp;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.util.ArrayList;
+import java.util.SplittableRandom;
 
 /**
  * 
@@ -12,10 +16,11 @@ import java.util.ArrayList;
  * parents, creating new generations, and evaluating fitness scores.
  * 
  * Restrictions: <br>
- * The parent selection type must be one of the three defined constants
- * "Truncation", "Roulette Wheel", and "Rank Selection". <br>
- * The fitness method must be one of the three defined constants "Number of 1",
- * "Target Fitness", and "Symmetry".<br>
+ * The parent selection type must be one of the names registered in
+ * OperatorRegistry, such as "Truncation", "Roulette Wheel", "Rank Selection",
+ * "Stochastic Universal Sampling" and "Tournament". <br>
+ * The fitness method must be one of the names registered in OperatorRegistry,
+ * such as "Number of 1", "Target Fitness", and "Symmetry".<br>
  * The elitism percentage must be a value between 0 and 100. <br>
  * The number of generations, population size, and number of genes per
  * chromosome must be positive integers.<br>
@@ -36,9 +41,10 @@ import java.util.ArrayList;
 public class GeneticAlgorithmCalculator {
 
 	/**
-	 * An ArrayList containing all generations of the genetic algorithm.
+	 * The generations of the current run that are still kept, and the fitness
+	 * scores of all of them. Only the current generation is kept by default.
 	 */
-	private ArrayList<Generation> allGenerationsList;
+	private GenerationHistory generationHistory;
 	/**
 	 * A PopulationViewer object that displays the population of the current run.
 	 */
@@ -61,16 +67,6 @@ public class GeneticAlgorithmCalculator {
 	 * A constant integer flag to indicate the use of Truncation parent selection.
 	 */
 	private static final int TRUNCATION = 0;
-	/**
-	 * A constant integer flag to indicate the use of Roulette Wheel parent
-	 * selection.
-	 */
-	private static final int ROULETTE_WHEEL = 1;
-	/**
-	 * A constant integer flag to indicate the use of Rank parent selection.
-	 */
-	private static final int RANK = 2;
-
 	/**
 	 * constant to indicate that parents will be selected using the method from the
 	 * Baldwinism study
@@ -78,42 +74,34 @@ public class GeneticAlgorithmCalculator {
 	private static final int BALDWINIAN_PARENT_SELECTION = 3;
 
 	/**
-	 * An integer flag to indicate the type of parent selection to use.
-	 */
-	private int parentSelectionType = TRUNCATION;
-
-	/**
-	 * A constant integer flag to indicate the fitness method "Number of 1".
-	 */
-	private static final int NUM_1S = 11;
-	/**
-	 * A constant integer flag to indicate the fitness method "Target Fitness".
-	 */
-	private static final int TARGET = 22;
-	/**
-	 * A constant integer flag to indicate the fitness method "Symmetry".
+	 * The method of parent selection to use, looked up once when it is chosen.
 	 */
-	private static final int SYMMETRY = 33;
+	private SelectionStrategy selectionStrategy = OperatorRegistry.selectionStrategyForFlag(TRUNCATION);
 
 	/**
-	 * flag for the Baldwinism fitness in fitness evaluation
+	 * The number of individuals competing in each tournament of Tournament parent
+	 * selection.
 	 */
-	private static final int BALDWINISM_FITNESS = 44;
+	private int tournamentSize = 2;
 
 	/**
-	 * flag for the BinaryValue fitness in fitness evaluation
+	 * A constant integer flag to indicate the fitness method "Number of 1".
 	 */
-	private static final int BINARY_VALUE = 55;
-
+	private static final int NUM_1S = 11;
 	/**
 	 * constant to indicate use of the fitness method for the Baldwin tests
 	 */
 	private static final int BALDWINIAN_FITNESS = 44;
+	/**
+	 * constant to indicate the Target Fitness method, the only one scoring
+	 * against the ideal genotype
+	 */
+	private static final int TARGET_FITNESS = 22;
 
 	/**
-	 * An integer flag to indicate the fitness method to use.
+	 * The fitness method to use, looked up once when it is chosen.
 	 */
-	private int fitnessMethod = NUM_1S;
+	private FitnessFunction fitnessFunction = OperatorRegistry.fitnessFunctionForFlag(NUM_1S);
 
 	/**
 	 * the target Binary Score for Binary value fitness method;
@@ -161,6 +149,74 @@ public class GeneticAlgorithmCalculator {
 	 */
 	private static final int UNKNOWN_ALLELE_FLAG = 2;
 
+	/**
+	 * Writes sampled generations to files in the background; off by default.
+	 */
+	private GenerationSnapshotSink snapshotSink = new GenerationSnapshotSink();
+
+	/**
+	 * The most fitness scores remembered during a run; 0 turns the cache off.
+	 */
+	private int fitnessCacheSize = 0;
+
+	/**
+	 * Remembers the fitness scores of the current run, null while the cache is off.
+	 */
+	private CachedFitnessFunction fitnessCache;
+
+	/**
+	 * Copies, mutates and scores the individuals of each generation as batches;
+	 * one thread by default.
+	 */
+	private PopulationWorkers populationWorkers = PopulationWorkers.sequential();
+
+	/**
+	 * The seed every random choice of the current run comes from.
+	 */
+	private long runSeed;
+
+	/**
+	 * true if every run uses runSeed, false if each run draws a new seed.
+	 */
+	private boolean runSeedFixed = false;
+
+	/**
+	 * The number of islands the population is split over; 1 evolves a single
+	 * population.
+	 */
+	private int numberOfIslands = 1;
+
+	/**
+	 * The number of generations between migrations of the islands.
+	 */
+	private int migrationInterval = 10;
+
+	/**
+	 * The number of individuals each island sends per migration.
+	 */
+	private int numberOfMigrants = 1;
+
+	/**
+	 * The flag of the migration topology of the islands.
+	 */
+	private int migrationTopology = IslandModel.RING_TOPOLOGY;
+
+	/**
+	 * The islands of the current run, null when there is only one population.
+	 */
+	private IslandModel islandModel;
+
+	/**
+	 * true if the settings and the first generation are printed to the console.
+	 */
+	private boolean consoleMessages = true;
+
+	/**
+	 * Writes each generation into the population of the one before last while
+	 * only the current generation is kept, null otherwise.
+	 */
+	private GenerationalEngine generationalEngine;
+
 	/**
 	 * A Generation object representing the current generation.
 	 */
@@ -170,7 +226,7 @@ public class GeneticAlgorithmCalculator {
 	 * constructor ensure: This constructor initializes the list of all generations.
 	 */
 	public GeneticAlgorithmCalculator() {
-		this.allGenerationsList = new ArrayList<Generation>();
+		this.generationHistory = new GenerationHistory();
 
 	}
 
@@ -181,7 +237,7 @@ public class GeneticAlgorithmCalculator {
 	 */
 	public void setMutationRate(int nofmutationRate) {
 		this.nofmutationRate = nofmutationRate;
-		System.out.println(this.nofmutationRate);
+		this.printMessage(String.valueOf(this.nofmutationRate));
 	}
 
 	/**
@@ -190,19 +246,326 @@ public class GeneticAlgorithmCalculator {
 	 * @param parentSelectionType the type of parent selection
 	 */
 	public void setParentSelectionType(String parentSelectionType) {
-		if (parentSelectionType.equals("Truncation")) {
-			this.parentSelectionType = TRUNCATION;
-		} else if (parentSelectionType.equals("Roulette Wheel")) {
-			this.parentSelectionType = ROULETTE_WHEEL;
-		} else if (parentSelectionType.equals("Rank Selection")) {
-			this.parentSelectionType = RANK;
-		} else if (parentSelectionType.equals("Baldwinism")) {
+		SelectionStrategy chosenStrategy = OperatorRegistry.selectionStrategyForName(parentSelectionType);
+		if (parentSelectionType.equals("Baldwinism")) {
 			this.baldwinismDefaults();
+		} else if (chosenStrategy != null) {
+			this.selectionStrategy = chosenStrategy;
 		} else {
 			System.err.println("Error exists when choosing Parent Selection Type in Viewer!!!");
 		}
-		System.out.println("Parent Selection Type: " + this.parentSelectionType);
+		this.printMessage("Parent Selection Type: " + this.selectionStrategy.getFlag());
+
+	}
+
+	/**
+	 * ensure: This method sets the number of individuals competing in each
+	 * tournament of Tournament parent selection.
+	 * 
+	 * @param tournamentSize the number of individuals per tournament
+	 */
+	public void setTournamentSize(int tournamentSize) {
+		this.tournamentSize = tournamentSize;
+		this.printMessage("Tournament size: " + this.tournamentSize);
+	}
+
+	/**
+	 * ensure: Sets how often generations are written to the ChromosomeTextFiles
+	 * folder. The files are written on a background thread.
+	 * 
+	 * @param snapshotInterval every generation whose number is a multiple of this
+	 *                         is written; 0 turns writing off
+	 */
+	public void setSnapshotInterval(int snapshotInterval) {
+		this.snapshotSink.setSnapshotInterval(snapshotInterval);
+		this.printMessage("Snapshot interval: " + this.snapshotSink.getSnapshotInterval());
+	}
+
+	/**
+	 * ensure: Writes the current generation to the ChromosomeTextFiles folder on a
+	 * background thread, whatever the snapshot interval.
+	 */
+	public void requestSnapshot() {
+		if (this.currentGeneration != null) {
+			// a reused population would be overwritten while the file is written
+			Generation generation = this.generationalEngine == null ? this.currentGeneration
+					: this.currentGeneration.makeDeepCopy();
+			this.snapshotSink.snapshot(generation, this.generationHistory.getGenerationCount() - 1);
+		}
+	}
 
+	/**
+	 * ensure: Sets which generations of a run are kept in memory. The best,
+	 * average and worst fitness scores of every generation are kept whatever the
+	 * policy. Clears the history of the current run.
+	 * 
+	 * @param historyPolicy             GenerationHistory.KEEP_CURRENT_ONLY,
+	 *                                  KEEP_LAST_GENERATIONS or SUMMARY_ONLY
+	 * @param numberOfGenerationsToKeep how many generations KEEP_LAST_GENERATIONS
+	 *                                  keeps
+	 */
+	public void setHistoryPolicy(int historyPolicy, int numberOfGenerationsToKeep) {
+		this.generationHistory.setHistoryPolicy(historyPolicy, numberOfGenerationsToKeep);
+		this.printMessage("History policy: " + this.generationHistory.getHistoryPolicy());
+	}
+
+	/**
+	 * Returns the history of the current run.
+	 *
+	 * @return the kept generations and the fitness scores of every generation
+	 */
+	public GenerationHistory getGenerationHistory() {
+		return this.generationHistory;
+	}
+
+	/**
+	 * Waits until every generation handed to the snapshot writer has been written.
+	 */
+	public void flushSnapshots() {
+		this.snapshotSink.flush();
+	}
+
+	/**
+	 * ensure: Sets how many fitness scores are remembered during a run, so a
+	 * genome seen before is not scored again. Takes effect on the next run.
+	 * 
+	 * @param fitnessCacheSize the most scores remembered; 0 turns the cache off
+	 */
+	public void setFitnessCacheSize(int fitnessCacheSize) {
+		this.fitnessCacheSize = Math.max(0, fitnessCacheSize);
+		this.printMessage("Fitness cache size: " + this.fitnessCacheSize);
+	}
+
+	/**
+	 * ensure: Sets how many threads copy, mutate and score the individuals of
+	 * each generation. A run with the same seed makes the same generations
+	 * whatever the number of threads.
+	 * 
+	 * @param threadCount the number of threads; 1 uses the running thread
+	 */
+	public void setThreadCount(int threadCount) {
+		if (threadCount == this.populationWorkers.getThreadCount()) {
+			return;
+		}
+		this.populationWorkers.shutdown();
+		if (threadCount <= 1) {
+			this.populationWorkers = PopulationWorkers.sequential();
+		} else {
+			this.populationWorkers = new PopulationWorkers(threadCount);
+		}
+		this.printMessage("Threads: " + this.populationWorkers.getThreadCount());
+	}
+
+	/**
+	 * ensure: Sets how many islands the population is split over from the next
+	 * run on. Each island evolves on its own thread, and every few generations
+	 * the fittest individuals migrate between islands. The threads set by
+	 * setThreadCount() are only used by a single population.
+	 * 
+	 * @param numberOfIslands the number of islands; 1 evolves a single population
+	 */
+	public void setNumberOfIslands(int numberOfIslands) {
+		this.numberOfIslands = Math.max(1, numberOfIslands);
+		this.printMessage("Islands: " + this.numberOfIslands);
+	}
+
+	/**
+	 * ensure: Sets how many generations pass between migrations of the islands.
+	 * 
+	 * @param migrationInterval the number of generations; 0 never migrates
+	 */
+	public void setMigrationInterval(int migrationInterval) {
+		this.migrationInterval = Math.max(0, migrationInterval);
+		this.printMessage("Migration interval: " + this.migrationInterval);
+	}
+
+	/**
+	 * ensure: Sets how many of its fittest individuals each island sends per
+	 * migration.
+	 * 
+	 * @param numberOfMigrants the number of individuals
+	 */
+	public void setNumberOfMigrants(int numberOfMigrants) {
+		this.numberOfMigrants = Math.max(0, numberOfMigrants);
+		this.printMessage("Migrants: " + this.numberOfMigrants);
+	}
+
+	/**
+	 * ensure: Sets which islands the migrants of each island go to.
+	 * 
+	 * @param migrationTopologyString "Ring", "Fully Connected" or "Random"
+	 */
+	public void setMigrationTopology(String migrationTopologyString) {
+		int chosenTopology = IslandModel.topologyForName(migrationTopologyString);
+		if (chosenTopology < 0) {
+			System.err.println("Error exists when choosing Migration Topology!!!");
+			return;
+		}
+		this.migrationTopology = chosenTopology;
+		this.printMessage("Migration topology: " + migrationTopologyString);
+	}
+
+	/**
+	 * Returns the mean Hamming distance within each island of the current
+	 * generation, or the Hamming distance of the population when there are no
+	 * islands. It stays higher than returnCurrentHammingDistanceDiversity() while
+	 * the islands drift apart.
+	 *
+	 * @return the mean Hamming distance within an island
+	 */
+	public int returnCurrentIslandHammingDistance() {
+		if (this.islandModel == null) {
+			return this.returnCurrentHammingDistanceDiversity();
+		}
+		return this.islandModel.returnAverageIslandHammingDistance();
+	}
+
+	/**
+	 * Returns copies of the genomes of the fittest individuals of the current
+	 * generation, to send to another population.
+	 *
+	 * @param count the number of genomes
+	 * @return the genomes, the fittest first
+	 */
+	public ArrayList<Genome> returnBestGenomes(int count) {
+		this.currentGeneration.sortChromosomesByFitnessScore();
+		Chromosome[] individuals = this.currentGeneration.getAllChromosome();
+		ArrayList<Genome> bestGenomes = new ArrayList<Genome>();
+		for (int i = 0; i < Math.min(count, individuals.length); i++) {
+			bestGenomes.add(individuals[i].getGenome().copy());
+		}
+		return bestGenomes;
+	}
+
+	/**
+	 * ensure: Replaces the least fit individuals of the current generation with
+	 * individuals of the given genomes from another population, scored with the
+	 * fitness method of this run. Only a single population takes in migrants;
+	 * the islands of this calculator exchange their own.
+	 *
+	 * @param genomes the genomes of the migrants, with as many genes as the
+	 *                individuals of this run
+	 */
+	public void receiveMigrants(ArrayList<Genome> genomes) {
+		if (this.islandModel != null) {
+			System.err.println("Migrants can only be added to a single population!!!");
+			return;
+		}
+		Chromosome bestChromosome = this.currentGeneration.getBestChromosome();
+		ArrayList<Chromosome> migrants = new ArrayList<Chromosome>(genomes.size());
+		for (Genome genome : genomes) {
+			if (genome.size() != bestChromosome.getGenome().size()) {
+				System.err.println("A migrant with " + genome.size() + " genes was left out!!!");
+				continue;
+			}
+			migrants.add(new Chromosome(genome, bestChromosome.getFitnessFunction(),
+					bestChromosome.getIdealGenotype()));
+		}
+		this.currentGeneration.replaceWorstWith(migrants);
+	}
+
+	/**
+	 * ensure: Turns the console messages about settings and the first generation
+	 * on or off, for callers such as HeadlessRunner that print their own report.
+	 * 
+	 * @param consoleMessages true to print the messages, false to keep quiet
+	 */
+	public void setConsoleMessages(boolean consoleMessages) {
+		this.consoleMessages = consoleMessages;
+	}
+
+	/**
+	 * Prints a message about the settings to the console unless console messages
+	 * are turned off.
+	 *
+	 * @param message the message to print
+	 */
+	private void printMessage(String message) {
+		if (this.consoleMessages) {
+			System.out.println(message);
+		}
+	}
+
+	/**
+	 * ensure: Makes every following run start from the given seed, so it can be
+	 * repeated exactly.
+	 * 
+	 * @param runSeed the seed of the runs
+	 */
+	public void setRunSeed(long runSeed) {
+		this.runSeed = runSeed;
+		this.runSeedFixed = true;
+		this.printMessage("Run seed: " + this.runSeed);
+	}
+
+	/**
+	 * ensure: Makes every following run draw a new seed of its own.
+	 */
+	public void useNewRunSeedEachRun() {
+		this.runSeedFixed = false;
+	}
+
+	/**
+	 * Returns the seed of the current run, which repeats the run when given to
+	 * setRunSeed().
+	 *
+	 * @return the seed of the current run
+	 */
+	public long getRunSeed() {
+		return this.runSeed;
+	}
+
+	/**
+	 * Draws a new seed unless the seed is fixed, and restarts the random stream
+	 * of the running thread from it. Every random choice of the run is drawn
+	 * from this stream or from streams split from it.
+	 */
+	private void seedRandomStreamForNewRun() {
+		if (!this.runSeedFixed) {
+			this.runSeed = new SplittableRandom().nextLong();
+		}
+		RandomStreams.use(new SplittableRandom(this.runSeed));
+	}
+
+	/**
+	 * Returns how many fitness scores of this run were found in the cache.
+	 *
+	 * @return the number of cache hits, 0 while the cache is off
+	 */
+	public long returnFitnessCacheHits() {
+		if (this.fitnessCache == null) {
+			return 0;
+		}
+		return this.fitnessCache.getHits();
+	}
+
+	/**
+	 * Returns how many fitness scores of this run had to be calculated while the
+	 * cache was on.
+	 *
+	 * @return the number of cache misses, 0 while the cache is off
+	 */
+	public long returnFitnessCacheMisses() {
+		if (this.fitnessCache == null) {
+			return 0;
+		}
+		return this.fitnessCache.getMisses();
+	}
+
+	/**
+	 * Returns the fitness method of a new run, wrapped in a new empty cache when
+	 * the cache is on. The cache is never reused, because the ideal genotype can
+	 * change between runs.
+	 *
+	 * @return the fitness method the first generation is scored with
+	 */
+	private FitnessFunction fitnessFunctionForNewRun() {
+		if (this.fitnessCacheSize == 0) {
+			this.fitnessCache = null;
+			return this.fitnessFunction;
+		}
+		this.fitnessCache = new CachedFitnessFunction(this.fitnessFunction, this.fitnessCacheSize);
+		return this.fitnessCache;
 	}
 
 	/**
@@ -211,26 +574,20 @@ public class GeneticAlgorithmCalculator {
 	 * @param fitnessMethodString the method used to calculate fitness
 	 */
 	public void setFitnessMethod(String fitnessMethodString) {
-		if (fitnessMethodString.equals("Number of 1")) {
-			this.fitnessMethod = NUM_1S;
-		} else if (fitnessMethodString.equals("Target Fitness")) {
-			this.fitnessMethod = TARGET;
-		} else if (fitnessMethodString.equals("Symmetry")) {
-			this.fitnessMethod = SYMMETRY;
-		} else if (fitnessMethodString.equals("Baldwinism")) {
+		FitnessFunction chosenFunction = OperatorRegistry.fitnessFunctionForName(fitnessMethodString);
+		if (fitnessMethodString.equals("Baldwinism")) {
 			this.baldwinismDefaults();
-		} else if (fitnessMethodString.equals("Binary Value")) {
-			this.fitnessMethod = BINARY_VALUE;
-
+		} else if (chosenFunction != null) {
+			this.fitnessFunction = chosenFunction;
 		} else {
 			System.err.println("Error exists when choosing Fitness Calculation Type in Viewer!!!");
 		}
-		System.out.println("Fitness Method: " + this.fitnessMethod);
+		this.printMessage("Fitness Method: " + this.fitnessFunction.getFlag());
 	}
 
 	private void baldwinismDefaults() {
-		this.fitnessMethod = BALDWINIAN_FITNESS;
-		this.parentSelectionType = BALDWINIAN_PARENT_SELECTION;
+		this.fitnessFunction = OperatorRegistry.fitnessFunctionForFlag(BALDWINIAN_FITNESS);
+		this.selectionStrategy = OperatorRegistry.selectionStrategyForFlag(BALDWINIAN_PARENT_SELECTION);
 		this.crossOverOrMutation = MUTATION;
 		this.nofmutationRate = 0;
 		this.elitismPercentage = 0;
@@ -244,7 +601,7 @@ public class GeneticAlgorithmCalculator {
 	 */
 	public void setSizeOfPopulation(int populationSize) {
 		this.populationSize = populationSize;
-		System.out.println("Population size: " + this.populationSize);
+		this.printMessage("Population size: " + this.populationSize);
 	}
 
 	/**
@@ -254,7 +611,7 @@ public class GeneticAlgorithmCalculator {
 	 */
 	public void setNumberOfGenesPerChromosome(int numGenes) {
 		this.numberOfGenesPerChromosome = numGenes;
-		System.out.println("Genes per chromosome: " + this.numberOfGenesPerChromosome);
+		this.printMessage("Genes per chromosome: " + this.numberOfGenesPerChromosome);
 	}
 
 	/**
@@ -265,7 +622,7 @@ public class GeneticAlgorithmCalculator {
 	 */
 	public void setElitismPercentage(double percentageOfPopulation) {
 		this.elitismPercentage = percentageOfPopulation / SCALE_FOR_PERCENT;
-		System.out.println("Elitism: " + this.elitismPercentage + "%");
+		this.printMessage("Elitism: " + this.elitismPercentage + "%");
 	}
 
 	/**
@@ -276,7 +633,7 @@ public class GeneticAlgorithmCalculator {
 	 */
 	public void setCrossoverOrMutation(boolean crossoverOrMutation) {
 		this.crossOverOrMutation = crossoverOrMutation;
-		System.out.println("Crossover: " + this.crossOverOrMutation);
+		this.printMessage("Crossover: " + this.crossOverOrMutation);
 	}
 
 	/**
@@ -319,20 +676,127 @@ public class GeneticAlgorithmCalculator {
 	 * 
 	 */
 	public void createInitialGeneration() {
-		System.out.println("Fitness method: " + this.fitnessMethod);
-		this.currentGeneration = new Generation(this.populationSize, this.numberOfGenesPerChromosome,
-				this.fitnessMethod, this.setIdealGenotype());
-		this.currentGeneration.sortChromosomesByFitnessScore();
-		System.out.println(this.currentGeneration.toString());
-		this.allGenerationsList.add(this.currentGeneration);
+		this.printMessage("Fitness method: " + this.fitnessFunction.getFlag());
+		this.seedRandomStreamForNewRun();
+		this.currentGeneration = this.makeFirstGeneration();
+		this.printCurrentGeneration();
+		this.generationHistory.clear();
+		this.generationHistory.add(this.currentGeneration);
+		this.snapshotSink.offer(this.currentGeneration, 0);
 		this.updateNewChromosomesToPopulationViewer();
 	}
 
 	public void createInitialGenerationTestMethodOnly() {
-		this.currentGeneration = new Generation(this.populationSize, this.numberOfGenesPerChromosome,
-				this.fitnessMethod, this.setIdealGenotype());
-		this.currentGeneration.sortChromosomesByFitnessScore();
-		this.allGenerationsList.add(this.currentGeneration);
+		this.seedRandomStreamForNewRun();
+		this.currentGeneration = this.makeFirstGeneration();
+		this.generationHistory.clear();
+		this.generationHistory.add(this.currentGeneration);
+		this.snapshotSink.offer(this.currentGeneration, 0);
+	}
+
+	/**
+	 * Makes the first generation of a new run, on the islands if there are more
+	 * than one.
+	 *
+	 * @return the first generation, every island merged into one
+	 */
+	private Generation makeFirstGeneration() {
+		if (this.islandModel != null) {
+			this.islandModel.shutdown();
+			this.islandModel = null;
+		}
+		this.generationalEngine = null;
+		if (this.numberOfIslands == 1) {
+			Generation firstGeneration = new Generation(this.populationSize, this.numberOfGenesPerChromosome,
+					this.fitnessFunctionForNewRun(), this.idealGenotypeForNewRun(), this.populationWorkers);
+			firstGeneration.sortChromosomesByFitnessScore();
+			return firstGeneration;
+		}
+		this.islandModel = new IslandModel(this.numberOfIslands, this.populationSize, this.numberOfGenesPerChromosome,
+				this.fitnessFunctionForNewRun(), this.idealGenotypeForNewRun(), this.selectionStrategy,
+				this.crossOverOrMutation, this.nofmutationRate, this.elitismPercentage);
+		this.islandModel.setTournamentSize(this.tournamentSize);
+		this.islandModel.setMigrationInterval(this.migrationInterval);
+		this.islandModel.setNumberOfMigrants(this.numberOfMigrants);
+		this.islandModel.setMigrationTopology(this.migrationTopology);
+		return this.islandModel.getMergedGeneration();
+	}
+
+	/**
+	 * Returns whether no generation but the current one is used once the next is
+	 * made, so the populations of earlier generations can be written over.
+	 *
+	 * @return true if only the current generation is kept and none is written
+	 *         to a file
+	 */
+	private boolean canReuseGenerations() {
+		return this.generationHistory.getHistoryPolicy() == GenerationHistory.KEEP_CURRENT_ONLY
+				&& this.snapshotSink.getSnapshotInterval() == 0;
+	}
+
+	/**
+	 * Makes the next generation from the parents chosen in the current one, or
+	 * from the parents chosen on each island. While only the current generation
+	 * is kept, the offspring are written into reused populations.
+	 *
+	 * @return the new generation, every island merged into one
+	 */
+	private Generation makeNextGeneration() {
+		boolean reuseGenerations = this.canReuseGenerations();
+		if (this.islandModel != null) {
+			this.islandModel.setReuseGenerations(reuseGenerations);
+			return this.islandModel.createNewGeneration();
+		}
+		if (reuseGenerations) {
+			return this.makeNextGenerationInPlace();
+		}
+		this.generationalEngine = null;
+		this.currentGeneration.setTournamentSize(this.tournamentSize);
+		ArrayList<Chromosome> parentsOfNewGeneration = this.currentGeneration
+				.chooseNextParents(this.selectionStrategy, this.elitismPercentage);
+		return new Generation(parentsOfNewGeneration, this.crossOverOrMutation, this.nofmutationRate,
+				this.elitismPercentage, this.populationWorkers);
+	}
+
+	/**
+	 * Writes the next generation into the population of the generation before
+	 * the current one, starting a GenerationalEngine from the current generation
+	 * if it is not already running on it.
+	 *
+	 * @return the new generation
+	 */
+	private Generation makeNextGenerationInPlace() {
+		if (this.generationalEngine == null || this.generationalEngine.getCurrentGeneration() != this.currentGeneration) {
+			// a snapshot still being written must not see its population reused
+			this.snapshotSink.flush();
+			this.generationalEngine = new GenerationalEngine(this.currentGeneration, this.selectionStrategy,
+					this.crossOverOrMutation, this.nofmutationRate, this.elitismPercentage);
+		}
+		this.generationalEngine.setSelectionStrategy(this.selectionStrategy);
+		this.generationalEngine.setCrossoverOrMutation(this.crossOverOrMutation);
+		this.generationalEngine.setMutationRate(this.nofmutationRate);
+		this.generationalEngine.setElitismPercentage(this.elitismPercentage);
+		this.generationalEngine.setTournamentSize(this.tournamentSize);
+		this.generationalEngine.setPopulationWorkers(this.populationWorkers);
+		return this.generationalEngine.createNewGeneration();
+	}
+
+	/**
+	 * Prints the current generation to the console through a buffer, without
+	 * building its whole text as one String first.
+	 */
+	private void printCurrentGeneration() {
+		if (!this.consoleMessages) {
+			return;
+		}
+		PrintWriter console = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+		try {
+			this.currentGeneration.writeTo(console);
+		} catch (IOException e) {
+			// a PrintWriter never throws, it only sets its error flag
+		}
+		console.println();
+		console.flush();
 	}
 
 	/**
@@ -345,21 +809,17 @@ public class GeneticAlgorithmCalculator {
 	 */
 	public void createNewGeneration() {
 
-		ArrayList<Chromosome> parentsOfNewGeneration = this.currentGeneration
-				.chooseNextParents(this.parentSelectionType, this.elitismPercentage);
-		this.currentGeneration = new Generation(parentsOfNewGeneration, this.crossOverOrMutation, this.nofmutationRate,
-				this.elitismPercentage);
-		this.allGenerationsList.add(this.currentGeneration);
+		this.currentGeneration = this.makeNextGeneration();
+		this.generationHistory.add(this.currentGeneration);
+		this.snapshotSink.offer(this.currentGeneration, this.generationHistory.getGenerationCount() - 1);
 		this.updateNewChromosomesToPopulationViewer();
 	}
 
 	public void createNewGenerationTestMethodOnly() {
 
-		ArrayList<Chromosome> parentsOfNewGeneration = this.currentGeneration
-				.chooseNextParents(this.parentSelectionType, this.elitismPercentage);
-		this.currentGeneration = new Generation(parentsOfNewGeneration, this.crossOverOrMutation, this.nofmutationRate,
-				this.elitismPercentage);
-		this.allGenerationsList.add(this.currentGeneration);
+		this.currentGeneration = this.makeNextGeneration();
+		this.generationHistory.add(this.currentGeneration);
+		this.snapshotSink.offer(this.currentGeneration, this.generationHistory.getGenerationCount() - 1);
 	}
 
 	/**
@@ -426,7 +886,7 @@ public class GeneticAlgorithmCalculator {
 	 *         if the parent selection type is not Baldwinian.
 	 */
 	public int returnAverageCorrectAlleles() {
-		if (this.parentSelectionType == BALDWINIAN_PARENT_SELECTION) {
+		if (this.selectionStrategy.getFlag() == BALDWINIAN_PARENT_SELECTION) {
 			return currentGeneration.returnAverageCorrectAlleles();
 		} else {
 			return 0;
@@ -442,7 +902,7 @@ public class GeneticAlgorithmCalculator {
 	 *         0 if the parent selection type is not Baldwinian.
 	 */
 	public int returnAverageIncorrectAlleles() {
-		if (this.parentSelectionType == BALDWINIAN_PARENT_SELECTION) {
+		if (this.selectionStrategy.getFlag() == BALDWINIAN_PARENT_SELECTION) {
 			return currentGeneration.returnAverageIncorrectAlleles();
 		} else {
 			return 0;
@@ -458,7 +918,7 @@ public class GeneticAlgorithmCalculator {
 	 *         if the parent selection type is not Baldwinian.
 	 */
 	public int returnAverageUnknownAlleles() {
-		if (this.parentSelectionType == BALDWINIAN_PARENT_SELECTION) {
+		if (this.selectionStrategy.getFlag() == BALDWINIAN_PARENT_SELECTION) {
 			return currentGeneration.returnAverageUnknownAlleles();
 		} else {
 			return 0;
@@ -471,10 +931,10 @@ public class GeneticAlgorithmCalculator {
 	 * @return the ideal genotype
 	 */
 
-	public ArrayList<Gene> setIdealGenotype(String idealGenotypeFileLocation) {
-		ArrayList<Gene> idealGenotype = null;
+	public Genome setIdealGenotype(String idealGenotypeFileLocation) {
+		Genome idealGenotype = null;
 		try {
-			idealGenotype = FileIO.readFile(idealGenotypeFileLocation);
+			idealGenotype = FileIO.readGenome(idealGenotypeFileLocation);
 		} catch (InvalidChromosomeFormatException e1) {
 			System.err.println(
 					"The file for the ideal genotype was not found! Please create a file for ideal genotype or choose a different fitness function.");
@@ -489,10 +949,10 @@ public class GeneticAlgorithmCalculator {
 	 *
 	 * @return the ideal genotype
 	 */
-	public ArrayList<Gene> setIdealGenotype() {
-		ArrayList<Gene> idealGenotype = null;
+	public Genome setIdealGenotype() {
+		Genome idealGenotype = null;
 		try {
-			idealGenotype = FileIO.readFile("ChromosomeTextFiles/IdealGenotype");
+			idealGenotype = FileIO.readGenome("ChromosomeTextFiles/IdealGenotype");
 		} catch (InvalidChromosomeFormatException e1) {
 			System.err.println(
 					"The file for the ideal genotype was not found! Please create a file for ideal genotype or choose a different fitness function.");
@@ -500,6 +960,19 @@ public class GeneticAlgorithmCalculator {
 		return idealGenotype;
 	}
 
+	/**
+	 * Reads the ideal genotype of a new run from the default file if the fitness
+	 * method scores against it, so the other methods work without the file.
+	 *
+	 * @return the ideal genotype, or null if the fitness method does not use it
+	 */
+	private Genome idealGenotypeForNewRun() {
+		if (this.fitnessFunction.getFlag() != TARGET_FITNESS) {
+			return null;
+		}
+		return this.setIdealGenotype();
+	}
+
 	/**
 	 * Updates the population viewer with the chromosomes of the current generation.
 	 */
@@ -0,0 +1,837 @@
+package mainApp;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * Class: Genome <br>
+ * Purpose: The Genome class stores the alleles of a Chromosome packed 64 per
+ * long word instead of one Gene object per allele. <br>
+ * <br>
+ * Allele i lives in bit (i % 64) of word (i / 64) of the value words. A genome
+ * that can hold unknown alleles (Baldwinian evolution) also keeps a second
+ * array of known words, so each allele takes two bits: <br>
+ * known 1, value 1 is a correct allele, known 1, value 0 is an incorrect
+ * allele and known 0, value 0 is an unknown allele. <br>
+ * Bits past the length in the last word are always zero, so the allele counts
+ * are popcounts over whole words. <br>
+ * <br>
+ * copy() does not copy the words: the copy shares them with the original until
+ * either genome is changed, and only then does the changed genome take its own
+ * words. So copies that are never mutated cost no word arrays. <br>
+ * <br>
+ * Restrictions: alleles are 1 (correct), 0 (incorrect) or 2 (unknown), the
+ * same values used by Gene. A genome and its copies must not be changed from
+ * different threads at the same time. <br>
+ * For example:
+ *
+ * <pre>
+ * Genome genome = Genome.randomGenome(100);
+ * int allele = genome.get(5);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see Chromosome
+ * @see Gene
+ */
+public class Genome {
+
+	/** number of alleles stored in one word */
+	public static final int BITS_PER_WORD = 64;
+
+	/** shift used to turn an allele index into a word index */
+	private static final int WORD_SHIFT = 6;
+
+	/** flag for an correct allele */
+	private static final int CORRECT_ALLELE_FLAG = 1;
+	/** flag for an incorrect allele */
+	private static final int INCORRECT_ALLELE_FLAG = 0;
+	/** flag for an unknown allele */
+	private static final int UNKNOWN_ALLELE_FLAG = 2;
+
+	/** odd constant mixed into contentHash() with every word */
+	private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	/** odd constant that spreads the unknown flags of a word in contentHash() */
+	private static final long UNKNOWN_HASH_MULTIPLIER = 0xC2B2AE3D27D4EB4FL;
+
+	/** the number of alleles in this genome */
+	private final int length;
+
+	/** the packed allele values, 1 bit per allele */
+	private long[] valueWords;
+
+	/**
+	 * the packed known flags, 1 bit per allele. null when every allele is known.
+	 */
+	private long[] knownWords;
+
+	/**
+	 * true while the words may be shared with another genome, so they must be
+	 * copied before they are changed.
+	 */
+	private boolean sharedWords = false;
+
+	/**
+	 * Constructs a genome of the given length with every allele set to 0.
+	 *
+	 * @param length the number of alleles
+	 */
+	public Genome(int length) {
+		this.length = length;
+		this.valueWords = new long[wordCount(length)];
+	}
+
+	/**
+	 * Constructs a genome directly from packed words. The arrays are used as they
+	 * are, not copied.
+	 *
+	 * @param length     the number of alleles
+	 * @param valueWords the packed allele values
+	 * @param knownWords the packed known flags, or null if every allele is known
+	 */
+	private Genome(int length, long[] valueWords, long[] knownWords) {
+		this.length = length;
+		this.valueWords = valueWords;
+		this.knownWords = knownWords;
+	}
+
+	/**
+	 * Creates a genome where every allele is 0 or 1 with equal probability.
+	 *
+	 * @param length the number of alleles
+	 * @return the new genome
+	 */
+	public static Genome randomGenome(int length) {
+		Genome genome = new Genome(length);
+		SplittableRandom random = RandomStreams.current();
+		for (int w = 0; w < genome.valueWords.length; w++) {
+			genome.valueWords[w] = random.nextLong();
+		}
+		genome.clearTail();
+		return genome;
+	}
+
+	/**
+	 * Creates a genome for Baldwinian evolution, where each allele is unknown with
+	 * probability 1/2, correct with probability 1/4 and incorrect with probability
+	 * 1/4.
+	 *
+	 * @param length the number of alleles
+	 * @return the new genome
+	 */
+	public static Genome randomBaldwinianGenome(int length) {
+		Genome genome = new Genome(length);
+		genome.knownWords = new long[genome.valueWords.length];
+		SplittableRandom random = RandomStreams.current();
+		for (int w = 0; w < genome.valueWords.length; w++) {
+			genome.knownWords[w] = random.nextLong();
+			genome.valueWords[w] = random.nextLong() & genome.knownWords[w];
+		}
+		genome.clearTail();
+		return genome;
+	}
+
+	/**
+	 * Creates a genome with the same alleles as a list of genes.
+	 *
+	 * @param genes the list of genes to pack
+	 * @return the new genome
+	 */
+	public static Genome fromGenes(ArrayList<Gene> genes) {
+		Genome genome = new Genome(genes.size());
+		for (int i = 0; i < genes.size(); i++) {
+			genome.set(i, genes.get(i).getCurrentValue());
+		}
+		return genome;
+	}
+
+	/**
+	 * Returns the number of words needed to hold the given number of alleles.
+	 *
+	 * @param length the number of alleles
+	 * @return the number of words
+	 */
+	private static int wordCount(int length) {
+		return (length + BITS_PER_WORD - 1) >>> WORD_SHIFT;
+	}
+
+	/**
+	 * Returns the mask of the bits in use in the last word.
+	 *
+	 * @return the mask of the bits in use in the last word
+	 */
+	private long tailMask() {
+		int usedBits = this.length % BITS_PER_WORD;
+		return usedBits == 0 ? -1L : (1L << usedBits) - 1;
+	}
+
+	/**
+	 * Clears the bits past the length in the last word.
+	 */
+	private void clearTail() {
+		if (this.valueWords.length == 0) {
+			return;
+		}
+		int last = this.valueWords.length - 1;
+		this.valueWords[last] &= this.tailMask();
+		if (this.knownWords != null) {
+			this.knownWords[last] &= this.tailMask();
+		}
+	}
+
+	/**
+	 * Returns the number of alleles in this genome.
+	 *
+	 * @return the number of alleles
+	 */
+	public int size() {
+		return this.length;
+	}
+
+	/**
+	 * Returns the allele at the given index.
+	 *
+	 * @param index the index of the allele
+	 * @return 1 for a correct allele, 0 for an incorrect allele and 2 for an
+	 *         unknown allele
+	 */
+	public int get(int index) {
+		int word = index >>> WORD_SHIFT;
+		long bit = 1L << index;
+		if (this.knownWords != null && (this.knownWords[word] & bit) == 0) {
+			return UNKNOWN_ALLELE_FLAG;
+		}
+		return (this.valueWords[word] & bit) != 0 ? CORRECT_ALLELE_FLAG : INCORRECT_ALLELE_FLAG;
+	}
+
+	/**
+	 * Sets the allele at the given index.
+	 *
+	 * @param index  the index of the allele
+	 * @param allele 1 for a correct allele, 0 for an incorrect allele and 2 for an
+	 *               unknown allele
+	 */
+	public void set(int index, int allele) {
+		this.ownWords();
+		int word = index >>> WORD_SHIFT;
+		long bit = 1L << index;
+		if (allele == UNKNOWN_ALLELE_FLAG) {
+			if (this.knownWords == null) {
+				this.knownWords = new long[this.valueWords.length];
+				for (int w = 0; w < this.knownWords.length; w++) {
+					this.knownWords[w] = -1L;
+				}
+				this.clearTail();
+			}
+			this.knownWords[word] &= ~bit;
+			this.valueWords[word] &= ~bit;
+			return;
+		}
+		if (this.knownWords != null) {
+			this.knownWords[word] |= bit;
+		}
+		if (allele == CORRECT_ALLELE_FLAG) {
+			this.valueWords[word] |= bit;
+		} else {
+			this.valueWords[word] &= ~bit;
+		}
+	}
+
+	/**
+	 * Flips the allele at the given index the same way Gene.changeValue does: an
+	 * incorrect allele becomes correct and anything else becomes incorrect.
+	 *
+	 * @param index the index of the allele
+	 */
+	public void flip(int index) {
+		if (this.get(index) == INCORRECT_ALLELE_FLAG) {
+			this.set(index, CORRECT_ALLELE_FLAG);
+		} else {
+			this.set(index, INCORRECT_ALLELE_FLAG);
+		}
+	}
+
+	/**
+	 * Returns whether this genome can hold unknown alleles.
+	 *
+	 * @return true if this genome keeps known words
+	 */
+	public boolean hasUnknownAlleles() {
+		return this.knownWords != null;
+	}
+
+	/**
+	 * Returns the number of known alleles, which is the length when this genome
+	 * has no unknown alleles.
+	 *
+	 * @return the number of known alleles
+	 */
+	public int countKnownAlleles() {
+		if (this.knownWords == null) {
+			return this.length;
+		}
+		int known = 0;
+		for (long word : this.knownWords) {
+			known += Long.bitCount(word);
+		}
+		return known;
+	}
+
+	/**
+	 * Returns the number of correct (1) alleles.
+	 *
+	 * @return the number of correct alleles
+	 */
+	public int countCorrectAlleles() {
+		int correct = 0;
+		for (long word : this.valueWords) {
+			correct += Long.bitCount(word);
+		}
+		return correct;
+	}
+
+	/**
+	 * Returns the number of incorrect (0) alleles. Unknown alleles are not counted.
+	 *
+	 * @return the number of incorrect alleles
+	 */
+	public int countIncorrectAlleles() {
+		return this.countKnownAlleles() - this.countCorrectAlleles();
+	}
+
+	/**
+	 * Returns the number of unknown (2) alleles.
+	 *
+	 * @return the number of unknown alleles
+	 */
+	public int countUnknownAlleles() {
+		return this.length - this.countKnownAlleles();
+	}
+
+	/**
+	 * Guesses every unknown allele at random, each one correct with probability
+	 * 1/2, and reports whether the whole genome came out correct. One random word
+	 * covers the unknown alleles of one word.
+	 *
+	 * @return true if there are no incorrect alleles and every guess was correct
+	 */
+	public boolean guessUnknownAllelesCorrectly() {
+		if (this.countIncorrectAlleles() > 0) {
+			return false;
+		}
+		if (this.knownWords == null) {
+			return true;
+		}
+		SplittableRandom random = RandomStreams.current();
+		for (int w = 0; w < this.knownWords.length; w++) {
+			long unknown = ~this.knownWords[w] & this.wordMask(w);
+			if ((unknown & ~random.nextLong()) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the number of alleles among the first prefixLength that are the same
+	 * in this genome and another genome, found with an XNOR and a popcount per
+	 * word.
+	 *
+	 * @param other        the genome to compare with
+	 * @param prefixLength the number of leading alleles to compare
+	 * @return the number of matching alleles
+	 */
+	public int countMatchingAlleles(Genome other, int prefixLength) {
+		int compared = Math.min(prefixLength, Math.min(this.length, other.length));
+		int fullWords = compared >>> WORD_SHIFT;
+		int matches = 0;
+		for (int w = 0; w < fullWords; w++) {
+			matches += Long.bitCount(~this.differenceWord(other, w));
+		}
+		int remainingBits = compared % BITS_PER_WORD;
+		if (remainingBits != 0) {
+			long mask = (1L << remainingBits) - 1;
+			matches += Long.bitCount(~this.differenceWord(other, fullWords) & mask);
+		}
+		return matches;
+	}
+
+	/**
+	 * Returns a word with a bit set wherever this genome and another genome hold a
+	 * different allele.
+	 *
+	 * @param other the genome to compare with
+	 * @param word  the index of the word
+	 * @return the bits where the alleles differ
+	 */
+	private long differenceWord(Genome other, int word) {
+		long difference = this.valueWords[word] ^ other.valueWords[word];
+		if (this.knownWords != null || other.knownWords != null) {
+			difference |= this.knownWord(word) ^ other.knownWord(word);
+		}
+		return difference;
+	}
+
+	/**
+	 * Returns the number of alleles i in the first half of this genome that match
+	 * allele (size - 1 - i). Each word of the first half is compared against the
+	 * mirrored word from the second half, made with Long.reverse.
+	 *
+	 * @return the number of symmetric allele pairs
+	 */
+	public int countSymmetricAlleles() {
+		int half = this.length / 2;
+		int wordsToCompare = wordCount(half);
+		int offset = this.length % BITS_PER_WORD;
+		int highWord = this.length >>> WORD_SHIFT;
+		int matches = 0;
+		for (int w = 0; w < wordsToCompare; w++) {
+			long difference = this.valueWords[w]
+					^ Long.reverse(windowBelow(this.valueWords, highWord - w, offset));
+			if (this.knownWords != null) {
+				difference |= this.knownWords[w] ^ Long.reverse(windowBelow(this.knownWords, highWord - w, offset));
+			}
+			int remainingBits = half - w * BITS_PER_WORD;
+			long mask = remainingBits >= BITS_PER_WORD ? -1L : (1L << remainingBits) - 1;
+			matches += Long.bitCount(~difference & mask);
+		}
+		return matches;
+	}
+
+	/**
+	 * Returns the 64 bits that end just below bit offset of the given high word,
+	 * that is bits [64 * highWord + offset - 64, 64 * highWord + offset). Bits
+	 * before bit 0 read as zero.
+	 *
+	 * @param words    the words to read
+	 * @param highWord the index of the word holding the end of the window
+	 * @param offset   the bit in highWord where the window ends
+	 * @return the 64 bits of the window
+	 */
+	private static long windowBelow(long[] words, int highWord, int offset) {
+		if (offset == 0) {
+			return words[highWord - 1];
+		}
+		long low = highWord > 0 ? words[highWord - 1] >>> offset : 0L;
+		return low | (words[highWord] << (BITS_PER_WORD - offset));
+	}
+
+	/**
+	 * Returns the number of alleles that differ between this genome and another
+	 * genome of the same length.
+	 *
+	 * @param other the genome to compare with
+	 * @return the Hamming distance between the two genomes
+	 */
+	public int hammingDistance(Genome other) {
+		int distance = 0;
+		for (int w = 0; w < this.valueWords.length; w++) {
+			distance += Long.bitCount(this.differenceWord(other, w));
+		}
+		return distance;
+	}
+
+	/**
+	 * Returns whether this genome holds exactly the same alleles as another
+	 * genome, compared a word at a time.
+	 *
+	 * @param other the genome to compare with
+	 * @return true if both genomes have the same length and the same alleles
+	 */
+	public boolean sameAlleles(Genome other) {
+		if (this.length != other.length) {
+			return false;
+		}
+		for (int w = 0; w < this.valueWords.length; w++) {
+			if (this.differenceWord(other, w) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns a 64-bit hash of the alleles of this genome, mixed in a word at a
+	 * time. Genomes with the same alleles always have the same hash, whether or
+	 * not they keep known flags, so the hash can be used to find duplicates with
+	 * sameAlleles() called only on a collision.
+	 *
+	 * @return the hash of the alleles
+	 */
+	public long contentHash() {
+		long hash = this.length * HASH_MULTIPLIER;
+		for (int w = 0; w < this.valueWords.length; w++) {
+			long word = this.valueWords[w];
+			if (this.knownWords != null) {
+				// unknown alleles have a value bit of 0, so spread their flags apart
+				word ^= (~this.knownWords[w] & this.wordMask(w)) * UNKNOWN_HASH_MULTIPLIER;
+			}
+			hash = Long.rotateLeft((hash ^ word) * HASH_MULTIPLIER, 31);
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xFF51AFD7ED558CCDL;
+		hash ^= hash >>> 33;
+		hash *= 0xC4CEB9FE1A85EC53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+	/**
+	 * Returns the sum of the Hamming distances over every pair of the given
+	 * genomes, without comparing the pairs. At each locus holding c0 zeros, c1
+	 * ones and c2 unknown alleles, c0*c1 + c0*c2 + c1*c2 pairs differ, so only
+	 * the counts per locus are needed. They are kept as bit-sliced counters: bit
+	 * plane p of a counter word holds bit p of the count of 64 loci at once, so
+	 * adding a genome is a ripple carry over whole words. This takes O(N*L/64)
+	 * word operations plus O(L log N) to read the counts back, instead of the
+	 * O(N^2*L/64) of comparing every pair.
+	 *
+	 * @param genomes the genomes, all of the same length
+	 * @return the total Hamming distance over all N(N-1)/2 pairs
+	 */
+	public static long totalPairwiseHammingDistance(Genome[] genomes) {
+		if (genomes.length < 2) {
+			return 0;
+		}
+		int length = genomes[0].length;
+		int numberOfWords = wordCount(length);
+		int numberOfPlanes = BITS_PER_WORD - Long.numberOfLeadingZeros(genomes.length);
+
+		long[][] onesCounter = new long[numberOfPlanes][numberOfWords];
+		long[][] unknownCounter = null;
+		for (Genome genome : genomes) {
+			for (int w = 0; w < numberOfWords; w++) {
+				addToCounter(onesCounter, w, genome.valueWords[w]);
+			}
+			if (genome.knownWords != null) {
+				if (unknownCounter == null) {
+					unknownCounter = new long[numberOfPlanes][numberOfWords];
+				}
+				for (int w = 0; w < numberOfWords; w++) {
+					addToCounter(unknownCounter, w, ~genome.knownWords[w] & genome.wordMask(w));
+				}
+			}
+		}
+
+		long totalDistance = 0;
+		for (int locus = 0; locus < length; locus++) {
+			long ones = countAt(onesCounter, locus);
+			long unknowns = unknownCounter == null ? 0 : countAt(unknownCounter, locus);
+			long zeros = genomes.length - ones - unknowns;
+			totalDistance += zeros * ones + zeros * unknowns + ones * unknowns;
+		}
+		return totalDistance;
+	}
+
+	/**
+	 * Adds one to the bit-sliced counters of the loci whose bits are set.
+	 *
+	 * @param counter the bit planes of the counters, lowest bit first
+	 * @param word    the index of the word of loci
+	 * @param bits    the loci to count
+	 */
+	private static void addToCounter(long[][] counter, int word, long bits) {
+		for (int plane = 0; plane < counter.length && bits != 0; plane++) {
+			long carry = counter[plane][word] & bits;
+			counter[plane][word] ^= bits;
+			bits = carry;
+		}
+	}
+
+	/**
+	 * Reads one count back out of bit-sliced counters.
+	 *
+	 * @param counter the bit planes of the counters, lowest bit first
+	 * @param locus   the locus whose count is wanted
+	 * @return the count of the locus
+	 */
+	private static long countAt(long[][] counter, int locus) {
+		int word = locus >>> WORD_SHIFT;
+		long count = 0;
+		for (int plane = 0; plane < counter.length; plane++) {
+			count |= ((counter[plane][word] >>> locus) & 1L) << plane;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the known flags of the given word.
+	 *
+	 * @param word the index of the word
+	 * @return the known flags, all set when this genome has no unknown alleles
+	 */
+	private long knownWord(int word) {
+		if (this.knownWords != null) {
+			return this.knownWords[word];
+		}
+		return this.wordMask(word);
+	}
+
+	/**
+	 * Returns the mask of the bits in use in the given word.
+	 *
+	 * @param word the index of the word
+	 * @return the mask of the bits in use
+	 */
+	private long wordMask(int word) {
+		return word == this.valueWords.length - 1 ? this.tailMask() : -1L;
+	}
+
+	/**
+	 * Creates a new genome whose alleles before the crossover point come from head
+	 * and whose remaining alleles come from tail.
+	 *
+	 * @param head           the genome supplying the alleles before the point
+	 * @param tail           the genome supplying the alleles from the point on
+	 * @param crossoverPoint the index of the first allele taken from tail
+	 * @return the new genome
+	 */
+	public static Genome splice(Genome head, Genome tail, int crossoverPoint) {
+		Genome child = new Genome(head.length);
+		child.spliceFrom(head, tail, crossoverPoint);
+		return child;
+	}
+
+	/**
+	 * Overwrites this genome with the alleles of head before the crossover point
+	 * and the alleles of tail from the point on, reusing the words of this genome
+	 * where it can.
+	 *
+	 * @param head           the genome supplying the alleles before the point, not
+	 *                       this genome
+	 * @param tail           the genome supplying the alleles from the point on, not
+	 *                       this genome
+	 * @param crossoverPoint the index of the first allele taken from tail
+	 */
+	public void spliceFrom(Genome head, Genome tail, int crossoverPoint) {
+		this.takeFreshWords();
+		int splitWord = crossoverPoint >>> WORD_SHIFT;
+		long headMask = (1L << crossoverPoint) - 1;
+		boolean hasKnownWords = head.knownWords != null || tail.knownWords != null;
+		if (!hasKnownWords) {
+			this.knownWords = null;
+		} else if (this.knownWords == null) {
+			this.knownWords = new long[this.valueWords.length];
+		}
+		for (int w = 0; w < this.valueWords.length; w++) {
+			this.valueWords[w] = spliceWord(head.valueWords[w], tail.valueWords[w], w, splitWord, headMask);
+			if (hasKnownWords) {
+				this.knownWords[w] = spliceWord(head.knownWord(w), tail.knownWord(w), w, splitWord, headMask);
+			}
+		}
+	}
+
+	/**
+	 * Swaps every allele from the crossover point on between this genome and
+	 * another genome, in place. The two genomes become the two children of a
+	 * single-point crossover between them.
+	 *
+	 * @param other          the genome to swap alleles with
+	 * @param crossoverPoint the index of the first allele swapped
+	 */
+	public void swapTails(Genome other, int crossoverPoint) {
+		if (other == this) {
+			return;
+		}
+		this.ownWords();
+		other.ownWords();
+		if (this.knownWords != null || other.knownWords != null) {
+			this.fillKnownWords();
+			other.fillKnownWords();
+			swapTailWords(this.knownWords, other.knownWords, crossoverPoint);
+		}
+		swapTailWords(this.valueWords, other.valueWords, crossoverPoint);
+	}
+
+	/**
+	 * Overwrites this genome with the alleles of another genome of the same
+	 * length, reusing the words of this genome where it can.
+	 *
+	 * @param source the genome to copy, not this genome
+	 */
+	public void copyFrom(Genome source) {
+		this.takeFreshWords();
+		System.arraycopy(source.valueWords, 0, this.valueWords, 0, this.valueWords.length);
+		if (source.knownWords == null) {
+			this.knownWords = null;
+		} else {
+			if (this.knownWords == null) {
+				this.knownWords = new long[this.valueWords.length];
+			}
+			System.arraycopy(source.knownWords, 0, this.knownWords, 0, this.knownWords.length);
+		}
+	}
+
+	/**
+	 * Joins one word of head before the crossover point with the same word of
+	 * tail from the point on.
+	 *
+	 * @param head      the word supplying the bits before the point
+	 * @param tail      the word supplying the bits from the point on
+	 * @param word      the index of the word
+	 * @param splitWord the index of the word holding the crossover point
+	 * @param headMask  the bits of the split word taken from head
+	 * @return the joined word
+	 */
+	private static long spliceWord(long head, long tail, int word, int splitWord, long headMask) {
+		if (word < splitWord) {
+			return head;
+		} else if (word > splitWord) {
+			return tail;
+		}
+		return (head & headMask) | (tail & ~headMask);
+	}
+
+	/**
+	 * Swaps the bits from the crossover point on between two word arrays.
+	 *
+	 * @param first          one of the word arrays
+	 * @param second         the other word array
+	 * @param crossoverPoint the index of the first bit swapped
+	 */
+	private static void swapTailWords(long[] first, long[] second, int crossoverPoint) {
+		int splitWord = crossoverPoint >>> WORD_SHIFT;
+		if (splitWord >= first.length) {
+			return;
+		}
+		long tailMask = -(1L << crossoverPoint);
+		long difference = (first[splitWord] ^ second[splitWord]) & tailMask;
+		first[splitWord] ^= difference;
+		second[splitWord] ^= difference;
+		for (int w = splitWord + 1; w < first.length; w++) {
+			long word = first[w];
+			first[w] = second[w];
+			second[w] = word;
+		}
+	}
+
+	/**
+	 * Gives this genome known words with every allele known if it has none yet.
+	 */
+	private void fillKnownWords() {
+		if (this.knownWords != null) {
+			return;
+		}
+		this.knownWords = new long[this.valueWords.length];
+		for (int w = 0; w < this.knownWords.length; w++) {
+			this.knownWords[w] = this.wordMask(w);
+		}
+	}
+
+	/**
+	 * Creates a copy of this genome. The copy shares its words with this genome
+	 * until one of them is changed, so copying costs no word arrays.
+	 *
+	 * @return the copy
+	 */
+	public Genome copy() {
+		Genome copy = new Genome(this.length, this.valueWords, this.knownWords);
+		copy.sharedWords = true;
+		this.sharedWords = true;
+		return copy;
+	}
+
+	/**
+	 * Writes this genome in its packed form: the length, a byte that is 1 if the
+	 * known words follow, then the value words and the known words. A genome of
+	 * L alleles takes 5 + 8 * ceil(L / 64) bytes, twice the words if it can hold
+	 * unknown alleles.
+	 *
+	 * @param out where to write the genome, such as a DataOutputStream
+	 * @throws IOException if the output cannot be written to
+	 */
+	public void writeTo(DataOutput out) throws IOException {
+		out.writeInt(this.length);
+		out.writeByte(this.knownWords == null ? 0 : 1);
+		for (long word : this.valueWords) {
+			out.writeLong(word);
+		}
+		if (this.knownWords != null) {
+			for (long word : this.knownWords) {
+				out.writeLong(word);
+			}
+		}
+	}
+
+	/**
+	 * Reads a genome written by writeTo().
+	 *
+	 * @param in where to read the genome from, such as a DataInputStream
+	 * @return the genome read
+	 * @throws IOException if the input cannot be read or is not a genome
+	 */
+	public static Genome readFrom(DataInput in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			throw new IOException("Invalid genome length: " + length);
+		}
+		int knownWordsFlag = in.readByte();
+		if (knownWordsFlag != 0 && knownWordsFlag != 1) {
+			throw new IOException("Invalid genome format: " + knownWordsFlag);
+		}
+		long[] valueWords = new long[wordCount(length)];
+		for (int i = 0; i < valueWords.length; i++) {
+			valueWords[i] = in.readLong();
+		}
+		long[] knownWords = null;
+		if (knownWordsFlag == 1) {
+			knownWords = new long[valueWords.length];
+			for (int i = 0; i < knownWords.length; i++) {
+				knownWords[i] = in.readLong();
+				// an unknown allele always has the value 0
+				valueWords[i] &= knownWords[i];
+			}
+		}
+		Genome genome = new Genome(length, valueWords, knownWords);
+		genome.clearTail();
+		return genome;
+	}
+
+	/**
+	 * Gives this genome its own words if they may be shared, so changing them
+	 * does not change any copy. Called before every change to the words.
+	 */
+	private void ownWords() {
+		if (!this.sharedWords) {
+			return;
+		}
+		this.valueWords = this.valueWords.clone();
+		if (this.knownWords != null) {
+			this.knownWords = this.knownWords.clone();
+		}
+		this.sharedWords = false;
+	}
+
+	/**
+	 * Gives this genome new words, without copying them, if its words may be
+	 * shared. Called before every change that overwrites all the words.
+	 */
+	private void takeFreshWords() {
+		if (!this.sharedWords) {
+			return;
+		}
+		this.valueWords = new long[this.valueWords.length];
+		this.knownWords = null;
+		this.sharedWords = false;
+	}
+
+	/**
+	 * Returns the alleles of this genome as a new list of genes. Changing the
+	 * genes does not change this genome.
+	 *
+	 * @return a list with one gene per allele
+	 */
+	public ArrayList<Gene> toGeneList() {
+		ArrayList<Gene> genes = new ArrayList<Gene>(this.length);
+		for (int i = 0; i < this.length; i++) {
+			genes.add(new Gene(this.get(i)));
+		}
+		return genes;
+	}
+
+}
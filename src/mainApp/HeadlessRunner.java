@@ -0,0 +1,464 @@
+package mainApp;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * Class: HeadlessRunner <br>
+ * Purpose: Runs the genetic algorithm from the command line, without the
+ * viewers and without the 100ms timer of EvolutionAnalysisViewer, as fast as
+ * GeneticAlgorithmCalculator can go. It prints the metrics of every
+ * generation as comma separated values and, at the end, how many generations
+ * were made per second. The seed of the run is printed in the header, and
+ * running again with the same --seed and options prints the same metrics.
+ * With --processes the islands run as separate JVMs under an
+ * IslandCoordinator, and the merged timeline of their fitness scores is
+ * printed at the end. <br>
+ * <br>
+ * Restrictions: the console messages of the calculator itself are not shown,
+ * only errors and the report. Names with spaces, such as "Number of 1", must be
+ * quoted. <br>
+ * For example:
+ *
+ * <pre>
+ * java mainApp.HeadlessRunner --population 100 --genome-length 100 --fitness "Number of 1"
+ * 		--selection Truncation --elitism 10 --mutation-rate 1 --crossover true --generations 1000 --seed 42
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see GeneticAlgorithmCalculator
+ */
+public class HeadlessRunner {
+
+	/** nanoseconds in one millisecond */
+	private static final double NANOS_PER_MILLI = 1e6;
+
+	/** milliseconds in one second */
+	private static final double MILLIS_PER_SECOND = 1e3;
+
+	/** the number of individuals per generation */
+	private int populationSize = 100;
+
+	/** the number of genes per chromosome */
+	private int genomeLength = 100;
+
+	/** the name of the fitness method */
+	private String fitnessMethod = "Number of 1";
+
+	/** the name of the selection method */
+	private String selectionMethod = "Truncation";
+
+	/** the percentage of the best individuals preserved each generation */
+	private double elitismPercentage = 0;
+
+	/** the expected number of genes flipped per chromosome */
+	private int mutationRate = 1;
+
+	/** true for crossover and mutation, false for mutation only */
+	private boolean crossover = false;
+
+	/** the number of generations to make, the first one included */
+	private int numberOfGenerations = 200;
+
+	/** the number of individuals competing in each tournament */
+	private int tournamentSize = 2;
+
+	/** the most fitness scores remembered; 0 turns the cache off */
+	private int fitnessCacheSize = 0;
+
+	/** the number of threads copying, mutating and scoring individuals */
+	private int threadCount = 1;
+
+	/** the metrics are printed every this many generations; 0 prints none */
+	private int reportInterval = 1;
+
+	/** the number of islands the population is split over */
+	private int numberOfIslands = 1;
+
+	/** the number of generations between migrations of the islands */
+	private int migrationInterval = 10;
+
+	/** the number of individuals each island sends per migration */
+	private int numberOfMigrants = 1;
+
+	/** the name of the migration topology */
+	private String migrationTopology = "Ring";
+
+	/** the number of JVM processes the islands run in; 1 runs in this JVM */
+	private int numberOfProcesses = 1;
+
+	/** the seed of the run, drawn at random if no seed is given */
+	private long runSeed = new SplittableRandom().nextLong();
+
+	/**
+	 * ensures: runs the genetic algorithm with the options given
+	 *
+	 * @param args pairs of an option and its value, see printUsage()
+	 */
+	public static void main(String[] args) {
+		HeadlessRunner headlessRunner = new HeadlessRunner();
+		if (!headlessRunner.readArguments(args)) {
+			printUsage();
+			System.exit(1);
+		}
+		headlessRunner.run();
+	}
+
+	/**
+	 * Reads the options from the command line arguments.
+	 *
+	 * @param args pairs of an option and its value
+	 * @return false if an option is unknown or its value is invalid
+	 */
+	boolean readArguments(String[] args) {
+		if (args.length % 2 != 0) {
+			System.err.println("Every option needs a value!!!");
+			return false;
+		}
+		try {
+			for (int i = 0; i < args.length; i += 2) {
+				String option = args[i];
+				String value = args[i + 1];
+				if (option.equals("--population")) {
+					this.populationSize = Integer.parseInt(value);
+				} else if (option.equals("--genome-length")) {
+					this.genomeLength = Integer.parseInt(value);
+				} else if (option.equals("--fitness")) {
+					this.fitnessMethod = value;
+				} else if (option.equals("--selection")) {
+					this.selectionMethod = value;
+				} else if (option.equals("--elitism")) {
+					this.elitismPercentage = Double.parseDouble(value);
+				} else if (option.equals("--mutation-rate")) {
+					this.mutationRate = Integer.parseInt(value);
+				} else if (option.equals("--crossover")) {
+					this.crossover = Boolean.parseBoolean(value);
+				} else if (option.equals("--generations")) {
+					this.numberOfGenerations = Integer.parseInt(value);
+				} else if (option.equals("--tournament-size")) {
+					this.tournamentSize = Integer.parseInt(value);
+				} else if (option.equals("--cache-size")) {
+					this.fitnessCacheSize = Integer.parseInt(value);
+				} else if (option.equals("--threads")) {
+					this.threadCount = Integer.parseInt(value);
+				} else if (option.equals("--report-every")) {
+					this.reportInterval = Integer.parseInt(value);
+				} else if (option.equals("--islands")) {
+					this.numberOfIslands = Integer.parseInt(value);
+				} else if (option.equals("--migration-interval")) {
+					this.migrationInterval = Integer.parseInt(value);
+				} else if (option.equals("--migrants")) {
+					this.numberOfMigrants = Integer.parseInt(value);
+				} else if (option.equals("--topology")) {
+					this.migrationTopology = value;
+				} else if (option.equals("--processes")) {
+					this.numberOfProcesses = Integer.parseInt(value);
+				} else if (option.equals("--seed")) {
+					this.runSeed = Long.parseLong(value);
+				} else {
+					System.err.println("Unknown option: " + option);
+					return false;
+				}
+			}
+		} catch (NumberFormatException e) {
+			System.err.println("Invalid number: " + e.getMessage());
+			return false;
+		}
+		if (!isAtLeast("--population", this.populationSize, 1) || !isAtLeast("--genome-length", this.genomeLength, 1)
+				|| !isAtLeast("--generations", this.numberOfGenerations, 1)
+				|| !isAtLeast("--threads", this.threadCount, 1) || !isAtLeast("--islands", this.numberOfIslands, 1)
+				|| !isAtLeast("--processes", this.numberOfProcesses, 1)
+				|| !isAtLeast("--tournament-size", this.tournamentSize, 1)
+				|| !isAtLeast("--mutation-rate", this.mutationRate, 0)
+				|| !isAtLeast("--cache-size", this.fitnessCacheSize, 0)
+				|| !isAtLeast("--report-every", this.reportInterval, 0)
+				|| !isAtLeast("--migration-interval", this.migrationInterval, 0)
+				|| !isAtLeast("--migrants", this.numberOfMigrants, 0)) {
+			return false;
+		}
+		if (OperatorRegistry.fitnessFunctionForName(this.fitnessMethod) == null) {
+			System.err.println("Unknown fitness method: " + this.fitnessMethod);
+			return false;
+		}
+		if (OperatorRegistry.selectionStrategyForName(this.selectionMethod) == null) {
+			System.err.println("Unknown selection method: " + this.selectionMethod);
+			return false;
+		}
+		if (IslandModel.topologyForName(this.migrationTopology) < 0) {
+			System.err.println("Unknown migration topology: " + this.migrationTopology);
+			return false;
+		}
+		if (this.fitnessMethod.equals("Baldwinism")) {
+			this.selectionMethod = "Baldwinism";
+		}
+		if (this.numberOfProcesses > 1 && this.numberOfIslands > 1) {
+			System.err.println("Islands run either as threads or as processes, not both!!!");
+			return false;
+		}
+		if (this.numberOfProcesses > this.populationSize) {
+			System.err.println("Every process needs at least one individual: " + this.numberOfProcesses
+					+ " processes for a population of " + this.populationSize + "!!!");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Checks that the value of an option is not below its smallest valid value.
+	 *
+	 * @param option  the name of the option
+	 * @param value   the value read
+	 * @param minimum the smallest valid value
+	 * @return true if the value is valid, false after saying why it is not
+	 */
+	private static boolean isAtLeast(String option, int value, int minimum) {
+		if (value < minimum) {
+			System.err.println("Invalid value for " + option + ": " + value + " is below " + minimum + "!!!");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Prints the options and the names of the fitness and selection methods.
+	 */
+	private static void printUsage() {
+		System.err.println("Usage: java mainApp.HeadlessRunner [option value]...");
+		System.err.println("  --population N       individuals per generation (100)");
+		System.err.println("  --genome-length N    genes per chromosome (100)");
+		System.err.println("  --fitness NAME       fitness method (\"Number of 1\")");
+		System.err.println("  --selection NAME     selection method (Truncation)");
+		System.err.println("  --elitism P          percentage of elites preserved (0)");
+		System.err.println("  --mutation-rate N    expected genes flipped per chromosome (1)");
+		System.err.println("  --crossover BOOL     crossover as well as mutation (false)");
+		System.err.println("  --generations N      generations to make (200)");
+		System.err.println("  --tournament-size N  individuals per tournament (2)");
+		System.err.println("  --cache-size N       fitness scores cached, 0 is off (0)");
+		System.err.println("  --threads N          threads making and scoring offspring (1)");
+		System.err.println("  --report-every N     print metrics every N generations, 0 is never (1)");
+		System.err.println("  --islands N          islands the population is split over, one thread each (1)");
+		System.err.println("  --migration-interval N  generations between migrations, 0 is never (10)");
+		System.err.println("  --migrants N         fittest individuals each island sends per migration (1)");
+		System.err.println("  --topology NAME      where migrants go (Ring)");
+		System.err.println("  --processes N        islands run as N separate JVM processes instead (1)");
+		System.err.println("  --seed S             seed of the run, the same seed repeats the run (random)");
+		System.err.println("Fitness methods: " + String.join(", ", OperatorRegistry.fitnessFunctionNames()));
+		System.err.println("Selection methods: " + String.join(", ", OperatorRegistry.selectionStrategyNames()));
+		System.err.println("Migration topologies: " + String.join(", ", IslandModel.topologyNames()));
+	}
+
+	/**
+	 * Runs the genetic algorithm and prints the metrics and the throughput.
+	 */
+	private void run() {
+		PrintWriter report = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+		if (this.numberOfProcesses > 1) {
+			this.runProcesses(report);
+			return;
+		}
+		GeneticAlgorithmCalculator geneticAlgorithmCalculator = new GeneticAlgorithmCalculator();
+		this.configure(geneticAlgorithmCalculator);
+		this.printSettings(report);
+		if (this.reportInterval > 0) {
+			report.println("generation,best,average,worst,hamming distance,unique individuals"
+					+ (this.numberOfIslands > 1 ? ",island hamming distance" : ""));
+		}
+
+		long startTime = System.nanoTime();
+		geneticAlgorithmCalculator.createInitialGenerationTestMethodOnly();
+		this.reportGeneration(report, geneticAlgorithmCalculator, 0);
+		for (int generationNumber = 1; generationNumber < this.numberOfGenerations; generationNumber++) {
+			geneticAlgorithmCalculator.createNewGenerationTestMethodOnly();
+			this.reportGeneration(report, geneticAlgorithmCalculator, generationNumber);
+		}
+		double elapsedMillis = (System.nanoTime() - startTime) / NANOS_PER_MILLI;
+		geneticAlgorithmCalculator.flushSnapshots();
+
+		this.printThroughput(report, elapsedMillis);
+		if (this.fitnessCacheSize > 0) {
+			report.println("# fitness cache: " + geneticAlgorithmCalculator.returnFitnessCacheHits() + " hits / "
+					+ geneticAlgorithmCalculator.returnFitnessCacheMisses() + " misses");
+		}
+		report.flush();
+	}
+
+	/**
+	 * Sets up a calculator with the options read.
+	 *
+	 * @param geneticAlgorithmCalculator the calculator to set up
+	 */
+	void configure(GeneticAlgorithmCalculator geneticAlgorithmCalculator) {
+		// the report replaces the messages the calculator prints for the viewer
+		geneticAlgorithmCalculator.setConsoleMessages(false);
+		geneticAlgorithmCalculator.setSizeOfPopulation(this.populationSize);
+		geneticAlgorithmCalculator.setNumberOfGenesPerChromosome(this.genomeLength);
+		// Baldwinism fitness also chooses Baldwinism selection, so it is set last
+		geneticAlgorithmCalculator.setParentSelectionType(this.selectionMethod);
+		geneticAlgorithmCalculator.setFitnessMethod(this.fitnessMethod);
+		if (!this.fitnessMethod.equals("Baldwinism") && !this.selectionMethod.equals("Baldwinism")) {
+			geneticAlgorithmCalculator.setElitismPercentage(this.elitismPercentage);
+			geneticAlgorithmCalculator.setMutationRate(this.mutationRate);
+			geneticAlgorithmCalculator.setCrossoverOrMutation(this.crossover);
+		}
+		geneticAlgorithmCalculator.setTournamentSize(this.tournamentSize);
+		geneticAlgorithmCalculator.setFitnessCacheSize(this.fitnessCacheSize);
+		geneticAlgorithmCalculator.setThreadCount(this.threadCount);
+		geneticAlgorithmCalculator.setRunSeed(this.runSeed);
+		geneticAlgorithmCalculator.setNumberOfIslands(this.numberOfIslands);
+		geneticAlgorithmCalculator.setMigrationInterval(this.migrationInterval);
+		geneticAlgorithmCalculator.setNumberOfMigrants(this.numberOfMigrants);
+		geneticAlgorithmCalculator.setMigrationTopology(this.migrationTopology);
+	}
+
+	/**
+	 * Returns the number of individuals per generation.
+	 *
+	 * @return the population size
+	 */
+	int getPopulationSize() {
+		return this.populationSize;
+	}
+
+	/**
+	 * Prints the options of the run as comment lines.
+	 *
+	 * @param report where the options are printed
+	 */
+	private void printSettings(PrintWriter report) {
+		report.println("# population " + this.populationSize + ", genome length " + this.genomeLength + ", fitness "
+				+ this.fitnessMethod + ", selection " + this.selectionMethod + ", elitism " + this.elitismPercentage
+				+ "%, mutation rate " + this.mutationRate + ", crossover " + this.crossover + ", threads "
+				+ this.threadCount + ", seed " + this.runSeed);
+		if (this.numberOfIslands > 1) {
+			report.println("# islands " + this.numberOfIslands + ", migration interval " + this.migrationInterval
+					+ ", migrants " + this.numberOfMigrants + ", topology " + this.migrationTopology);
+		}
+		if (this.numberOfProcesses > 1) {
+			report.println("# processes " + this.numberOfProcesses + ", migration interval " + this.migrationInterval
+					+ ", migrants " + this.numberOfMigrants + ", topology " + this.migrationTopology);
+		}
+	}
+
+	/**
+	 * Prints how long the run took and how many generations were made per
+	 * second.
+	 *
+	 * @param report        where the throughput is printed
+	 * @param elapsedMillis the time the run took in ms
+	 */
+	private void printThroughput(PrintWriter report, double elapsedMillis) {
+		report.printf("# %d generations in %.1f ms: %.1f generations/s%n", this.numberOfGenerations, elapsedMillis,
+				this.numberOfGenerations * MILLIS_PER_SECOND / Math.max(elapsedMillis, 1e-3));
+	}
+
+	/**
+	 * Runs the islands as separate processes and prints the merged timeline of
+	 * their fitness scores and the throughput. Each island gets an even share of
+	 * the population and its own seed drawn from the run seed.
+	 *
+	 * @param report where the timeline is printed
+	 */
+	private void runProcesses(PrintWriter report) {
+		SplittableRandom seeds = new SplittableRandom(this.runSeed);
+		ArrayList<ArrayList<String>> islandArguments = new ArrayList<ArrayList<String>>();
+		for (int island = 0; island < this.numberOfProcesses; island++) {
+			// the first populationSize % numberOfProcesses islands take one extra
+			int islandSize = this.populationSize / this.numberOfProcesses
+					+ (island < this.populationSize % this.numberOfProcesses ? 1 : 0);
+			islandArguments.add(this.islandArguments(islandSize, seeds.nextLong()));
+		}
+		IslandCoordinator islandCoordinator = new IslandCoordinator(this.numberOfProcesses,
+				this.numberOfGenerations, this.migrationInterval, this.numberOfMigrants,
+				IslandModel.topologyForName(this.migrationTopology), seeds.nextLong());
+
+		this.printSettings(report);
+		report.flush();
+		long startTime = System.nanoTime();
+		try {
+			islandCoordinator.run(islandArguments);
+		} catch (IOException e) {
+			System.err.println("The island processes failed: " + e.getMessage());
+			System.exit(1);
+		}
+		double elapsedMillis = (System.nanoTime() - startTime) / NANOS_PER_MILLI;
+
+		if (this.reportInterval > 0) {
+			StringBuilder columns = new StringBuilder("generation,best,average,worst");
+			for (int island = 0; island < this.numberOfProcesses; island++) {
+				columns.append(",island " + island + " best,island " + island + " average,island " + island
+						+ " worst");
+			}
+			report.println(columns);
+			GenerationHistory mergedHistory = islandCoordinator.getMergedHistory();
+			for (int generationNumber = 0; generationNumber < mergedHistory.getGenerationCount();
+					generationNumber += this.reportInterval) {
+				StringBuilder row = new StringBuilder();
+				row.append(generationNumber + "," + mergedHistory.getBestFitness(generationNumber) + ","
+						+ mergedHistory.getAverageFitness(generationNumber) + ","
+						+ mergedHistory.getWorstFitness(generationNumber));
+				for (int island = 0; island < this.numberOfProcesses; island++) {
+					GenerationHistory islandHistory = islandCoordinator.getIslandHistory(island);
+					row.append("," + islandHistory.getBestFitness(generationNumber) + ","
+							+ islandHistory.getAverageFitness(generationNumber) + ","
+							+ islandHistory.getWorstFitness(generationNumber));
+				}
+				report.println(row);
+			}
+		}
+		this.printThroughput(report, elapsedMillis);
+		report.flush();
+	}
+
+	/**
+	 * Returns the options of one island process: the options of this run with
+	 * the island's own population size and seed.
+	 *
+	 * @param islandSize the number of individuals of the island
+	 * @param islandSeed the seed of the island
+	 * @return the options as pairs of an option and its value
+	 */
+	private ArrayList<String> islandArguments(int islandSize, long islandSeed) {
+		ArrayList<String> islandArguments = new ArrayList<String>();
+		String[][] options = { { "--population", Integer.toString(islandSize) },
+				{ "--genome-length", Integer.toString(this.genomeLength) }, { "--fitness", this.fitnessMethod },
+				{ "--selection", this.selectionMethod },
+				{ "--elitism", Double.toString(this.elitismPercentage) },
+				{ "--mutation-rate", Integer.toString(this.mutationRate) },
+				{ "--crossover", Boolean.toString(this.crossover) },
+				{ "--tournament-size", Integer.toString(this.tournamentSize) },
+				{ "--cache-size", Integer.toString(this.fitnessCacheSize) },
+				{ "--threads", Integer.toString(this.threadCount) }, { "--seed", Long.toString(islandSeed) } };
+		for (String[] option : options) {
+			islandArguments.add(option[0]);
+			islandArguments.add(option[1]);
+		}
+		return islandArguments;
+	}
+
+	/**
+	 * Prints the metrics of the current generation if it is one of the
+	 * generations reported.
+	 *
+	 * @param report                     where the metrics are printed
+	 * @param geneticAlgorithmCalculator the calculator running the algorithm
+	 * @param generationNumber           the number of the current generation
+	 */
+	private void reportGeneration(PrintWriter report, GeneticAlgorithmCalculator geneticAlgorithmCalculator,
+			int generationNumber) {
+		if (this.reportInterval <= 0 || generationNumber % this.reportInterval != 0) {
+			return;
+		}
+		report.println(generationNumber + "," + geneticAlgorithmCalculator.returnCurrentBest() + ","
+				+ geneticAlgorithmCalculator.returnCurrentAverage() + ","
+				+ geneticAlgorithmCalculator.returnCurrentWorst() + ","
+				+ geneticAlgorithmCalculator.returnCurrentHammingDistanceDiversity() + ","
+				+ geneticAlgorithmCalculator.returnCurrentNumberOfUniqueIndividuals()
+				+ (this.numberOfIslands > 1 ? "," + geneticAlgorithmCalculator.returnCurrentIslandHammingDistance() : ""));
+	}
+
+}
@@ -0,0 +1,387 @@
+package mainApp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * Class: IslandCoordinator <br>
+ * Purpose: Runs the islands of the island model as separate JVM processes,
+ * each an IslandProcess with its own GeneticAlgorithmCalculator and its own
+ * heap. The coordinator starts the processes, which connect back to it over
+ * TCP on localhost. Every few generations each island sends the fitness
+ * scores of the generations it made and the genomes of its fittest
+ * individuals, packed as Genome.writeTo() writes them. The coordinator routes
+ * the migrants over the migration topology of IslandModel, and merges the
+ * fitness scores of every island into one timeline. <br>
+ * <br>
+ * The islands wait for their migrants before going on, so the run is the same
+ * however the processes are scheduled, and each island is seeded from the
+ * run seed. <br>
+ * <br>
+ * Restrictions: the processes are started with the java of this JVM and the
+ * same class path. Every island must connect within CONNECT_TIMEOUT
+ * milliseconds. <br>
+ * For example:
+ *
+ * <pre>
+ * IslandCoordinator coordinator = new IslandCoordinator(4, 1000, 10, 2, IslandModel.RING_TOPOLOGY, 42);
+ * coordinator.run(islandArguments);
+ * int best = coordinator.getMergedHistory().getBestFitness(999);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see IslandProcess
+ * @see IslandModel
+ */
+public class IslandCoordinator {
+
+	/** the first int an island sends, so a stray connection is not taken */
+	static final int PROTOCOL_MAGIC = 0x49534C31;
+
+	/** the milliseconds every island has to connect */
+	private static final int CONNECT_TIMEOUT = 60000;
+
+	/** the number of island processes */
+	private final int numberOfIslands;
+
+	/** the number of generations each island makes, the first one included */
+	private final int numberOfGenerations;
+
+	/** the number of generations between migrations; 0 never migrates */
+	private final int migrationInterval;
+
+	/** the number of individuals each island sends per migration */
+	private final int numberOfMigrants;
+
+	/** the migration topology, a flag of IslandModel */
+	private final int migrationTopology;
+
+	/** chooses the destinations of the random topology */
+	private final SplittableRandom random;
+
+	/** the best, average and worst fitness scores of every island together */
+	private final GenerationHistory mergedHistory = new GenerationHistory();
+
+	/** the best, average and worst fitness scores of each island */
+	private final GenerationHistory[] islandHistories;
+
+	/** the number of individuals of each island */
+	private final int[] islandSizes;
+
+	/**
+	 * Makes a coordinator for the given number of islands.
+	 *
+	 * @param numberOfIslands     the number of island processes
+	 * @param numberOfGenerations the number of generations each island makes, the
+	 *                            first one included
+	 * @param migrationInterval   the number of generations between migrations; 0
+	 *                            never migrates
+	 * @param numberOfMigrants    the number of individuals each island sends per
+	 *                            migration
+	 * @param migrationTopology   a topology flag of IslandModel
+	 * @param runSeed             the seed the destinations of the random topology
+	 *                            are drawn from
+	 */
+	public IslandCoordinator(int numberOfIslands, int numberOfGenerations, int migrationInterval,
+			int numberOfMigrants, int migrationTopology, long runSeed) {
+		this.numberOfIslands = numberOfIslands;
+		this.numberOfGenerations = numberOfGenerations;
+		this.migrationInterval = Math.max(0, migrationInterval);
+		this.numberOfMigrants = Math.max(0, numberOfMigrants);
+		this.migrationTopology = migrationTopology;
+		this.random = new SplittableRandom(runSeed);
+		this.mergedHistory.setHistoryPolicy(GenerationHistory.SUMMARY_ONLY, 0);
+		this.islandHistories = new GenerationHistory[numberOfIslands];
+		for (int i = 0; i < numberOfIslands; i++) {
+			this.islandHistories[i] = new GenerationHistory();
+			this.islandHistories[i].setHistoryPolicy(GenerationHistory.SUMMARY_ONLY, 0);
+		}
+		this.islandSizes = new int[numberOfIslands];
+	}
+
+	/**
+	 * Starts one process per island, exchanges their migrants until every
+	 * island has made all its generations, and waits for the processes to end.
+	 *
+	 * @param islandArguments the HeadlessRunner options of each island, such as
+	 *                        its population size and seed
+	 * @throws IOException if an island cannot be started, does not connect or
+	 *                     breaks off
+	 */
+	public void run(ArrayList<ArrayList<String>> islandArguments) throws IOException {
+		ArrayList<Process> processes = new ArrayList<Process>();
+		Socket[] sockets = new Socket[this.numberOfIslands];
+		try (ServerSocket serverSocket = new ServerSocket(0, this.numberOfIslands, InetAddress.getLoopbackAddress())) {
+			serverSocket.setSoTimeout(CONNECT_TIMEOUT);
+			for (int i = 0; i < this.numberOfIslands; i++) {
+				processes.add(startIsland(serverSocket.getLocalPort(), i, islandArguments.get(i)));
+			}
+
+			DataInputStream[] inputs = new DataInputStream[this.numberOfIslands];
+			DataOutputStream[] outputs = new DataOutputStream[this.numberOfIslands];
+			for (int i = 0; i < this.numberOfIslands; i++) {
+				Socket socket;
+				try {
+					socket = serverSocket.accept();
+				} catch (SocketTimeoutException e) {
+					throw new IOException("Only " + i + " of " + this.numberOfIslands + " islands connected within "
+							+ CONNECT_TIMEOUT + " ms");
+				}
+				DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+				int island;
+				try {
+					if (in.readInt() != PROTOCOL_MAGIC) {
+						socket.close();
+						throw new IOException("A connection that is not an island was made");
+					}
+					island = in.readInt();
+					if (island < 0 || island >= this.numberOfIslands || sockets[island] != null) {
+						socket.close();
+						throw new IOException("Invalid island number: " + island);
+					}
+					this.islandSizes[island] = in.readInt();
+				} catch (EOFException e) {
+					socket.close();
+					throw new IOException("An island broke off before saying which island it is");
+				}
+				sockets[island] = socket;
+				inputs[island] = in;
+				outputs[island] = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+				outputs[island].writeInt(this.numberOfGenerations);
+				outputs[island].writeInt(this.migrationInterval);
+				outputs[island].writeInt(this.numberOfMigrants);
+				outputs[island].flush();
+			}
+
+			this.exchangeMigrants(inputs, outputs);
+
+			for (Process process : processes) {
+				if (process.waitFor() != 0) {
+					throw new IOException("An island process ended with exit code " + process.exitValue());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for the islands");
+		} finally {
+			for (Socket socket : sockets) {
+				if (socket != null) {
+					socket.close();
+				}
+			}
+			for (Process process : processes) {
+				process.destroy();
+			}
+		}
+	}
+
+	/**
+	 * Starts the process of one island.
+	 *
+	 * @param port            the port the island connects to
+	 * @param island          the index of the island
+	 * @param islandArguments the HeadlessRunner options of the island
+	 * @return the process
+	 * @throws IOException if the process cannot be started
+	 */
+	private static Process startIsland(int port, int island, ArrayList<String> islandArguments)
+			throws IOException {
+		ArrayList<String> command = new ArrayList<String>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(IslandProcess.class.getName());
+		command.add("--coordinator-port");
+		command.add(Integer.toString(port));
+		command.add("--island");
+		command.add(Integer.toString(island));
+		command.addAll(islandArguments);
+		ProcessBuilder processBuilder = new ProcessBuilder(command);
+		processBuilder.redirectOutput(ProcessBuilder.Redirect.INHERIT);
+		processBuilder.redirectError(ProcessBuilder.Redirect.INHERIT);
+		return processBuilder.start();
+	}
+
+	/**
+	 * Reads the fitness scores and emigrants of every island and sends each
+	 * island its immigrants, until every island has made all its generations.
+	 *
+	 * @param inputs  the input from each island
+	 * @param outputs the output to each island
+	 * @throws IOException if an island breaks off or sends something invalid
+	 */
+	private void exchangeMigrants(DataInputStream[] inputs, DataOutputStream[] outputs) throws IOException {
+		int generationsReceived = 0;
+		while (generationsReceived < this.numberOfGenerations) {
+			int numberOfScores = -1;
+			@SuppressWarnings("unchecked")
+			ArrayList<Genome>[] emigrants = (ArrayList<Genome>[]) new ArrayList<?>[this.numberOfIslands];
+			for (int island = 0; island < this.numberOfIslands; island++) {
+				try {
+					int islandScores = inputs[island].readInt();
+					if (islandScores <= 0 || (numberOfScores >= 0 && islandScores != numberOfScores)) {
+						throw new IOException(
+								"Island " + island + " is out of step: " + islandScores + " generations");
+					}
+					numberOfScores = islandScores;
+					for (int i = 0; i < islandScores; i++) {
+						this.islandHistories[island].addSummary(inputs[island].readInt(), inputs[island].readInt(),
+								inputs[island].readInt());
+					}
+					emigrants[island] = readGenomes(inputs[island]);
+				} catch (EOFException e) {
+					throw new IOException("Island " + island + " broke off after " + generationsReceived
+							+ " generations");
+				}
+			}
+			for (int i = 0; i < numberOfScores; i++) {
+				this.mergeScores(generationsReceived + i);
+			}
+			generationsReceived += numberOfScores;
+			if (generationsReceived >= this.numberOfGenerations) {
+				return;
+			}
+
+			ArrayList<Genome>[] immigrants = this.routeMigrants(emigrants);
+			for (int island = 0; island < this.numberOfIslands; island++) {
+				writeGenomes(outputs[island], immigrants[island]);
+				outputs[island].flush();
+			}
+		}
+	}
+
+	/**
+	 * Adds the fitness scores of every island for one generation to the merged
+	 * timeline: the best of the best, the average over every individual and the
+	 * worst of the worst.
+	 *
+	 * @param generationNumber the number of the generation
+	 */
+	private void mergeScores(int generationNumber) {
+		int best = Integer.MIN_VALUE;
+		int worst = Integer.MAX_VALUE;
+		long totalFitness = 0;
+		long populationSize = 0;
+		for (int island = 0; island < this.numberOfIslands; island++) {
+			GenerationHistory islandHistory = this.islandHistories[island];
+			best = Math.max(best, islandHistory.getBestFitness(generationNumber));
+			worst = Math.min(worst, islandHistory.getWorstFitness(generationNumber));
+			totalFitness += (long) islandHistory.getAverageFitness(generationNumber) * this.islandSizes[island];
+			populationSize += this.islandSizes[island];
+		}
+		this.mergedHistory.addSummary(best, (int) (totalFitness / Math.max(1, populationSize)), worst);
+	}
+
+	/**
+	 * Sends the emigrants of every island to the islands the topology chooses.
+	 *
+	 * @param emigrants the emigrants of each island
+	 * @return the immigrants of each island
+	 */
+	private ArrayList<Genome>[] routeMigrants(ArrayList<Genome>[] emigrants) {
+		@SuppressWarnings("unchecked")
+		ArrayList<Genome>[] immigrants = (ArrayList<Genome>[]) new ArrayList<?>[this.numberOfIslands];
+		for (int i = 0; i < this.numberOfIslands; i++) {
+			immigrants[i] = new ArrayList<Genome>();
+		}
+		if (this.numberOfIslands < 2) {
+			return immigrants;
+		}
+		for (int source = 0; source < this.numberOfIslands; source++) {
+			if (this.migrationTopology == IslandModel.RING_TOPOLOGY) {
+				immigrants[(source + 1) % this.numberOfIslands].addAll(emigrants[source]);
+			} else if (this.migrationTopology == IslandModel.FULLY_CONNECTED_TOPOLOGY) {
+				for (int destination = 0; destination < this.numberOfIslands; destination++) {
+					if (destination != source) {
+						immigrants[destination].addAll(emigrants[source]);
+					}
+				}
+			} else if (this.migrationTopology == IslandModel.RANDOM_TOPOLOGY) {
+				// any island but the source
+				int destination = this.random.nextInt(this.numberOfIslands - 1);
+				if (destination >= source) {
+					destination++;
+				}
+				immigrants[destination].addAll(emigrants[source]);
+			}
+		}
+		return immigrants;
+	}
+
+	/**
+	 * Writes a list of genomes: their number, then each genome.
+	 *
+	 * @param out     where to write the genomes
+	 * @param genomes the genomes to write
+	 * @throws IOException if the output cannot be written to
+	 */
+	static void writeGenomes(DataOutput out, ArrayList<Genome> genomes) throws IOException {
+		out.writeInt(genomes.size());
+		for (Genome genome : genomes) {
+			genome.writeTo(out);
+		}
+	}
+
+	/**
+	 * Reads a list of genomes written by writeGenomes().
+	 *
+	 * @param in where to read the genomes from
+	 * @return the genomes
+	 * @throws IOException if the input cannot be read or is not a list of genomes
+	 */
+	static ArrayList<Genome> readGenomes(DataInput in) throws IOException {
+		int numberOfGenomes = in.readInt();
+		if (numberOfGenomes < 0) {
+			throw new IOException("Invalid number of genomes: " + numberOfGenomes);
+		}
+		ArrayList<Genome> genomes = new ArrayList<Genome>(numberOfGenomes);
+		for (int i = 0; i < numberOfGenomes; i++) {
+			genomes.add(Genome.readFrom(in));
+		}
+		return genomes;
+	}
+
+	/**
+	 * Returns the fitness scores of every island together, one entry per
+	 * generation.
+	 *
+	 * @return the merged timeline
+	 */
+	public GenerationHistory getMergedHistory() {
+		return this.mergedHistory;
+	}
+
+	/**
+	 * Returns the fitness scores of one island, one entry per generation.
+	 *
+	 * @param island the index of the island
+	 * @return the timeline of the island
+	 */
+	public GenerationHistory getIslandHistory(int island) {
+		return this.islandHistories[island];
+	}
+
+	/**
+	 * Returns the number of island processes.
+	 *
+	 * @return the number of islands
+	 */
+	public int getNumberOfIslands() {
+		return this.numberOfIslands;
+	}
+
+}
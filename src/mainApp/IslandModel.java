@@ -0,0 +1,491 @@
+package mainApp;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Class: IslandModel <br>
+ * Purpose: Runs the genetic algorithm on several islands, sub-populations that
+ * evolve side by side on their own threads. Every few generations the fittest
+ * individuals of each island migrate to other islands, chosen by the migration
+ * topology: the next island of a ring, every other island, or one island at
+ * random. The islands together are also handed out as one merged generation,
+ * so the usual metrics, such as returnHammingDistance(), measure the whole
+ * population. <br>
+ * <br>
+ * Each island draws its random numbers from its own stream, split in order
+ * from the stream of the thread that made the model, and migration is done on
+ * that thread while the islands wait. So a run seeded with S makes the same
+ * generations however the islands are scheduled. With setReuseGenerations()
+ * each island writes its offspring into reused populations through its own
+ * GenerationalEngine. <br>
+ * <br>
+ * Restrictions: the fitness and selection methods are shared by all islands,
+ * so they must be safe to call from several threads at once, which stateless
+ * methods are. The population is split as evenly as possible over the islands,
+ * so there must be at least as many individuals as islands. <br>
+ * For example:
+ *
+ * <pre>
+ * IslandModel islandModel = new IslandModel(4, 400, 100, new NumberOfOnesFitness(), null,
+ * 		new TruncationSelection(), true, 1, 0.1);
+ * islandModel.setMigrationTopology(IslandModel.RING_TOPOLOGY);
+ * for (int i = 0; i &lt; 1000; i++) {
+ * 	islandModel.createNewGeneration();
+ * }
+ * int hammingDistance = islandModel.getMergedGeneration().returnHammingDistance();
+ * islandModel.shutdown();
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see Generation
+ * @see GeneticAlgorithmCalculator
+ */
+public class IslandModel {
+
+	/** flag for migrating from each island to the next one of a ring */
+	public static final int RING_TOPOLOGY = 0;
+
+	/** flag for migrating from each island to every other island */
+	public static final int FULLY_CONNECTED_TOPOLOGY = 1;
+
+	/** flag for migrating from each island to another island chosen at random */
+	public static final int RANDOM_TOPOLOGY = 2;
+
+	/** the names of the topologies, indexed by their flags */
+	private static final String[] TOPOLOGY_NAMES = { "Ring", "Fully Connected", "Random" };
+
+	/** The default number of generations between migrations */
+	private static final int DEFAULT_MIGRATION_INTERVAL = 10;
+
+	/** The default number of individuals each island sends per migration */
+	private static final int DEFAULT_NUMBER_OF_MIGRANTS = 1;
+
+	/** The default number of individuals competing in each tournament */
+	private static final int DEFAULT_TOURNAMENT_SIZE = 2;
+
+	/** the current generation of each island */
+	private final Generation[] islands;
+
+	/** the random stream of each island */
+	private final SplittableRandom[] islandRandoms;
+
+	/** the engine reusing the populations of each island, null until used */
+	private final GenerationalEngine[] islandEngines;
+
+	/** true if the islands write their offspring into reused populations */
+	private boolean reuseGenerations = false;
+
+	/** the threads the islands evolve on */
+	private final ForkJoinPool pool;
+
+	/** the method of choosing parents */
+	private final SelectionStrategy selectionStrategy;
+
+	/** true for crossover and mutation, false for mutation only */
+	private final boolean crossoverOrMutation;
+
+	/** the expected number of genes flipped per chromosome */
+	private final double mutationRate;
+
+	/** the fraction of the best individuals of each island preserved */
+	private final double elitismPercentage;
+
+	/** the number of individuals competing in each tournament */
+	private int tournamentSize = DEFAULT_TOURNAMENT_SIZE;
+
+	/** the number of generations between migrations; 0 never migrates */
+	private int migrationInterval = DEFAULT_MIGRATION_INTERVAL;
+
+	/** the number of individuals each island sends per migration */
+	private int numberOfMigrants = DEFAULT_NUMBER_OF_MIGRANTS;
+
+	/** the migration topology, one of the flags above */
+	private int migrationTopology = RING_TOPOLOGY;
+
+	/** every island together, made again after each generation */
+	private Generation mergedGeneration;
+
+	/** the number of the current generation, 0 for the first */
+	private int generationNumber = 0;
+
+	/**
+	 * The work done to one island.
+	 */
+	private interface IslandTask {
+		/**
+		 * Works on one island, with the generator of the current thread set to the
+		 * island's own stream.
+		 *
+		 * @param island the index of the island
+		 */
+		void run(int island);
+	}
+
+	/**
+	 * Makes the first generation of every island at random.
+	 *
+	 * @param numberOfIslands            the number of islands, each evolving on
+	 *                                   its own thread
+	 * @param populationSize             the number of individuals of all islands
+	 *                                   together
+	 * @param numberOfGenesPerChromosome the number of genes per chromosome
+	 * @param fitnessFunction            the fitness method
+	 * @param idealGenotype              the ideal genotype used by the target
+	 *                                   fitness method
+	 * @param selectionStrategy          the method of choosing parents
+	 * @param crossoverOrMutation        true for crossover and mutation, false
+	 *                                   for mutation only
+	 * @param mutationRate               the expected number of genes flipped per
+	 *                                   chromosome
+	 * @param elitismPercentage          the fraction of the best individuals of
+	 *                                   each island preserved each generation,
+	 *                                   from 0 to 1
+	 */
+	public IslandModel(int numberOfIslands, final int populationSize, final int numberOfGenesPerChromosome,
+			final FitnessFunction fitnessFunction, final Genome idealGenotype, SelectionStrategy selectionStrategy,
+			boolean crossoverOrMutation, double mutationRate, double elitismPercentage) {
+		final int islandCount = Math.max(1, Math.min(numberOfIslands, populationSize));
+		this.islands = new Generation[islandCount];
+		this.islandRandoms = new SplittableRandom[islandCount];
+		this.islandEngines = new GenerationalEngine[islandCount];
+		SplittableRandom random = RandomStreams.current();
+		for (int i = 0; i < islandCount; i++) {
+			this.islandRandoms[i] = random.split();
+		}
+		this.pool = new ForkJoinPool(islandCount);
+		this.selectionStrategy = selectionStrategy;
+		this.crossoverOrMutation = crossoverOrMutation;
+		this.mutationRate = mutationRate;
+		this.elitismPercentage = elitismPercentage;
+
+		this.runOnIslands(new IslandTask() {
+			@Override
+			public void run(int island) {
+				// the first populationSize % islandCount islands take one extra
+				int islandSize = populationSize / islandCount + (island < populationSize % islandCount ? 1 : 0);
+				islands[island] = new Generation(islandSize, numberOfGenesPerChromosome, fitnessFunction,
+						idealGenotype);
+				islands[island].sortChromosomesByFitnessScore();
+			}
+		});
+		this.mergeIslands();
+	}
+
+	/**
+	 * Returns the flag of the topology with the given name.
+	 *
+	 * @param name "Ring", "Fully Connected" or "Random"
+	 * @return the flag of the topology, or -1 if there is no such topology
+	 */
+	public static int topologyForName(String name) {
+		for (int i = 0; i < TOPOLOGY_NAMES.length; i++) {
+			if (TOPOLOGY_NAMES[i].equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the name of a topology.
+	 *
+	 * @param migrationTopology the flag of the topology
+	 * @return the name of the topology
+	 */
+	public static String topologyName(int migrationTopology) {
+		return TOPOLOGY_NAMES[migrationTopology];
+	}
+
+	/**
+	 * Returns the names of every topology.
+	 *
+	 * @return the names, in the order of their flags
+	 */
+	public static String[] topologyNames() {
+		return TOPOLOGY_NAMES.clone();
+	}
+
+	/**
+	 * Sets the number of individuals competing in each tournament of tournament
+	 * selection.
+	 *
+	 * @param tournamentSize the number of individuals per tournament
+	 */
+	public void setTournamentSize(int tournamentSize) {
+		this.tournamentSize = tournamentSize;
+	}
+
+	/**
+	 * Sets how many generations pass between migrations.
+	 *
+	 * @param migrationInterval the number of generations; 0 never migrates
+	 */
+	public void setMigrationInterval(int migrationInterval) {
+		this.migrationInterval = Math.max(0, migrationInterval);
+	}
+
+	/**
+	 * Sets how many of its fittest individuals each island sends to each island
+	 * it migrates to.
+	 *
+	 * @param numberOfMigrants the number of individuals
+	 */
+	public void setNumberOfMigrants(int numberOfMigrants) {
+		this.numberOfMigrants = Math.max(0, numberOfMigrants);
+	}
+
+	/**
+	 * Sets which islands the migrants of each island go to.
+	 *
+	 * @param migrationTopology RING_TOPOLOGY, FULLY_CONNECTED_TOPOLOGY or
+	 *                          RANDOM_TOPOLOGY
+	 */
+	public void setMigrationTopology(int migrationTopology) {
+		if (migrationTopology < RING_TOPOLOGY || migrationTopology > RANDOM_TOPOLOGY) {
+			System.err.println("Invalid migration topology chosen!! The topology is not changed.");
+			return;
+		}
+		this.migrationTopology = migrationTopology;
+	}
+
+	/**
+	 * Sets whether the islands write their offspring into the populations of
+	 * the generation before last instead of making new ones. Only allowed when
+	 * no generation but the current one is used, since earlier islands and
+	 * merged generations are overwritten.
+	 *
+	 * @param reuseGenerations true to reuse the populations of the islands
+	 */
+	public void setReuseGenerations(boolean reuseGenerations) {
+		this.reuseGenerations = reuseGenerations;
+	}
+
+	/**
+	 * Makes the next generation of every island at the same time and, when it is
+	 * time, lets the fittest individuals migrate.
+	 *
+	 * @return every island of the new generation merged into one generation
+	 */
+	public Generation createNewGeneration() {
+		this.runOnIslands(new IslandTask() {
+			@Override
+			public void run(int island) {
+				if (reuseGenerations) {
+					islands[island] = createNewGenerationInPlace(island);
+					return;
+				}
+				islandEngines[island] = null;
+				Generation generation = islands[island];
+				generation.setTournamentSize(tournamentSize);
+				ArrayList<Chromosome> parents = generation.chooseNextParents(selectionStrategy, elitismPercentage);
+				if (parents != null && !parents.isEmpty()) {
+					islands[island] = new Generation(parents, crossoverOrMutation, mutationRate, elitismPercentage);
+				}
+			}
+		});
+		this.generationNumber++;
+		if (this.migrationInterval > 0 && this.generationNumber % this.migrationInterval == 0) {
+			this.migrate();
+		}
+		this.mergeIslands();
+		return this.mergedGeneration;
+	}
+
+	/**
+	 * Writes the next generation of one island into the population of its
+	 * generation before last, starting the island's engine if it is not already
+	 * running on the island's current generation.
+	 *
+	 * @param island the index of the island
+	 * @return the new generation of the island
+	 */
+	private Generation createNewGenerationInPlace(int island) {
+		GenerationalEngine engine = this.islandEngines[island];
+		if (engine == null || engine.getCurrentGeneration() != this.islands[island]) {
+			engine = new GenerationalEngine(this.islands[island], this.selectionStrategy, this.crossoverOrMutation,
+					this.mutationRate, this.elitismPercentage);
+			this.islandEngines[island] = engine;
+		}
+		engine.setTournamentSize(this.tournamentSize);
+		return engine.createNewGeneration();
+	}
+
+	/**
+	 * Sends copies of the fittest individuals of every island to the islands
+	 * the topology chooses, where they replace the least fit individuals. The
+	 * emigrants are all chosen before any island takes in migrants.
+	 */
+	private void migrate() {
+		int islandCount = this.islands.length;
+		if (islandCount < 2 || this.numberOfMigrants == 0) {
+			return;
+		}
+		@SuppressWarnings("unchecked")
+		final ArrayList<Chromosome>[] immigrants = (ArrayList<Chromosome>[]) new ArrayList<?>[islandCount];
+		for (int i = 0; i < islandCount; i++) {
+			immigrants[i] = new ArrayList<Chromosome>();
+		}
+
+		SplittableRandom random = RandomStreams.current();
+		for (int source = 0; source < islandCount; source++) {
+			if (this.migrationTopology == RING_TOPOLOGY) {
+				this.sendEmigrants(source, (source + 1) % islandCount, immigrants);
+			} else if (this.migrationTopology == FULLY_CONNECTED_TOPOLOGY) {
+				for (int destination = 0; destination < islandCount; destination++) {
+					if (destination != source) {
+						this.sendEmigrants(source, destination, immigrants);
+					}
+				}
+			} else if (this.migrationTopology == RANDOM_TOPOLOGY) {
+				// any island but the source
+				int destination = random.nextInt(islandCount - 1);
+				if (destination >= source) {
+					destination++;
+				}
+				this.sendEmigrants(source, destination, immigrants);
+			}
+		}
+
+		this.runOnIslands(new IslandTask() {
+			@Override
+			public void run(int island) {
+				islands[island].replaceWorstWith(immigrants[island]);
+			}
+		});
+	}
+
+	/**
+	 * Adds copies of the fittest individuals of one island to the migrants of
+	 * another.
+	 *
+	 * @param source      the index of the island sending the individuals
+	 * @param destination the index of the island taking them in
+	 * @param immigrants  the migrants each island takes in
+	 */
+	private void sendEmigrants(int source, int destination, ArrayList<Chromosome>[] immigrants) {
+		Chromosome[] individuals = this.islands[source].getAllChromosome();
+		int numberOfEmigrants = Math.min(this.numberOfMigrants, individuals.length);
+		for (int i = 0; i < numberOfEmigrants; i++) {
+			immigrants[destination].add(individuals[i].makeDeepCopy());
+		}
+	}
+
+	/**
+	 * Puts the individuals of every island into one new generation.
+	 */
+	private void mergeIslands() {
+		int populationSize = 0;
+		for (Generation island : this.islands) {
+			populationSize += island.getAllChromosome().length;
+		}
+		Chromosome[] individuals = new Chromosome[populationSize];
+		int position = 0;
+		for (Generation island : this.islands) {
+			Chromosome[] islandIndividuals = island.getAllChromosome();
+			System.arraycopy(islandIndividuals, 0, individuals, position, islandIndividuals.length);
+			position += islandIndividuals.length;
+		}
+		this.mergedGeneration = new Generation(individuals);
+	}
+
+	/**
+	 * Runs a task on every island at the same time, each on a thread of the pool
+	 * with the island's own random stream, and returns when all of them are
+	 * done.
+	 *
+	 * @param task the work done to each island
+	 */
+	private void runOnIslands(final IslandTask task) {
+		this.pool.invoke(new RecursiveAction() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void compute() {
+				ArrayList<RecursiveAction> islandActions = new ArrayList<RecursiveAction>(islands.length);
+				for (int i = 0; i < islands.length; i++) {
+					final int island = i;
+					islandActions.add(new RecursiveAction() {
+
+						private static final long serialVersionUID = 1L;
+
+						@Override
+						protected void compute() {
+							SplittableRandom threadRandom = RandomStreams.use(islandRandoms[island]);
+							try {
+								task.run(island);
+							} finally {
+								RandomStreams.use(threadRandom);
+							}
+						}
+					});
+				}
+				invokeAll(islandActions);
+			}
+		});
+	}
+
+	/**
+	 * Returns every island of the current generation merged into one generation.
+	 *
+	 * @return the merged generation
+	 */
+	public Generation getMergedGeneration() {
+		return this.mergedGeneration;
+	}
+
+	/**
+	 * Returns the current generation of one island.
+	 *
+	 * @param island the index of the island
+	 * @return the current generation of the island
+	 */
+	public Generation getIsland(int island) {
+		return this.islands[island];
+	}
+
+	/**
+	 * Returns the number of islands.
+	 *
+	 * @return the number of islands
+	 */
+	public int getNumberOfIslands() {
+		return this.islands.length;
+	}
+
+	/**
+	 * Returns the number of the current generation.
+	 *
+	 * @return the number of generations made since the first, 0 for the first
+	 */
+	public int getGenerationNumber() {
+		return this.generationNumber;
+	}
+
+	/**
+	 * Returns the mean of the Hamming distances of the islands, each measured
+	 * within its own island. Compared with the Hamming distance of the merged
+	 * generation, it shows how far the islands have drifted apart.
+	 *
+	 * @return the mean Hamming distance within an island
+	 */
+	public int returnAverageIslandHammingDistance() {
+		long totalHammingDistance = 0;
+		for (Generation island : this.islands) {
+			totalHammingDistance += island.returnHammingDistance();
+		}
+		return (int) (totalHammingDistance / this.islands.length);
+	}
+
+	/**
+	 * Stops the threads of the islands once they are idle.
+	 */
+	public void shutdown() {
+		this.pool.shutdown();
+	}
+
+}
@@ -0,0 +1,185 @@
+package mainApp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Arrays;
+
+/**
+ * Class: IslandProcess <br>
+ * Purpose: Runs one island of a multi-process run in its own JVM. The island is
+ * a GeneticAlgorithmCalculator set up from the HeadlessRunner options it is
+ * started with. It connects to the IslandCoordinator on localhost, and every
+ * few generations sends the fitness scores of the generations it made and the
+ * genomes of its fittest individuals, then waits for the migrants of other
+ * islands before going on. <br>
+ * <br>
+ * Restrictions: started by IslandCoordinator, not by hand. The first four
+ * arguments must be the port of the coordinator and the number of the island.
+ * The console messages of the calculator are turned off. <br>
+ * For example:
+ *
+ * <pre>
+ * java mainApp.IslandProcess --coordinator-port 50123 --island 0 --population 25 --seed 42
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see IslandCoordinator
+ * @see HeadlessRunner
+ */
+public class IslandProcess {
+
+	/** the number of leading arguments that are not HeadlessRunner options */
+	private static final int ISLAND_ARGUMENTS = 4;
+
+	/** the best, average and worst fitness score of each generation */
+	private static final int SCORES_PER_GENERATION = 3;
+
+	/** the number of generations the unsent scores hold at first */
+	private static final int INITIAL_SCORE_CAPACITY = 16;
+
+	/** the calculator evolving this island */
+	private final GeneticAlgorithmCalculator geneticAlgorithmCalculator;
+
+	/** the input from the coordinator */
+	private final DataInputStream in;
+
+	/** the output to the coordinator */
+	private final DataOutputStream out;
+
+	/** the best, average and worst fitness scores not yet sent */
+	private int[] unsentScores = new int[SCORES_PER_GENERATION * INITIAL_SCORE_CAPACITY];
+
+	/** the number of generations whose scores are not yet sent */
+	private int numberOfUnsentScores = 0;
+
+	/**
+	 * Makes an island that talks to the coordinator over the given streams.
+	 *
+	 * @param geneticAlgorithmCalculator the calculator evolving the island
+	 * @param in                         the input from the coordinator
+	 * @param out                        the output to the coordinator
+	 */
+	public IslandProcess(GeneticAlgorithmCalculator geneticAlgorithmCalculator, DataInputStream in,
+			DataOutputStream out) {
+		this.geneticAlgorithmCalculator = geneticAlgorithmCalculator;
+		this.in = in;
+		this.out = out;
+	}
+
+	/**
+	 * ensure: connects to the coordinator and runs the island
+	 *
+	 * @param args "--coordinator-port", the port, "--island", the number of the
+	 *             island, then HeadlessRunner options
+	 */
+	public static void main(String[] args) {
+		if (args.length < ISLAND_ARGUMENTS || !args[0].equals("--coordinator-port") || !args[2].equals("--island")) {
+			System.err.println("Usage: java mainApp.IslandProcess --coordinator-port PORT --island N [option value]...");
+			System.exit(1);
+		}
+		int port;
+		int island;
+		try {
+			port = Integer.parseInt(args[1]);
+			island = Integer.parseInt(args[3]);
+		} catch (NumberFormatException e) {
+			System.err.println("Invalid number: " + e.getMessage());
+			System.exit(1);
+			return;
+		}
+		HeadlessRunner headlessRunner = new HeadlessRunner();
+		if (!headlessRunner.readArguments(Arrays.copyOfRange(args, ISLAND_ARGUMENTS, args.length))) {
+			System.exit(1);
+		}
+
+		GeneticAlgorithmCalculator geneticAlgorithmCalculator = new GeneticAlgorithmCalculator();
+		headlessRunner.configure(geneticAlgorithmCalculator);
+
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			out.writeInt(IslandCoordinator.PROTOCOL_MAGIC);
+			out.writeInt(island);
+			out.writeInt(headlessRunner.getPopulationSize());
+			out.flush();
+			new IslandProcess(geneticAlgorithmCalculator, in, out).run();
+		} catch (IOException e) {
+			System.err.println("Island " + island + " lost the coordinator: " + e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Reads the schedule from the coordinator, then makes generations and
+	 * exchanges migrants until every generation is made.
+	 *
+	 * @throws IOException if the coordinator breaks off or sends something
+	 *                     invalid
+	 */
+	public void run() throws IOException {
+		int numberOfGenerations = this.in.readInt();
+		int migrationInterval = this.in.readInt();
+		int numberOfMigrants = this.in.readInt();
+
+		this.geneticAlgorithmCalculator.createInitialGenerationTestMethodOnly();
+		this.recordScores();
+		int generationsMade = 1;
+		while (true) {
+			// make generations up to the next migration or the end of the run
+			while (generationsMade < numberOfGenerations) {
+				this.geneticAlgorithmCalculator.createNewGenerationTestMethodOnly();
+				this.recordScores();
+				generationsMade++;
+				if (migrationInterval > 0 && (generationsMade - 1) % migrationInterval == 0) {
+					break;
+				}
+			}
+
+			boolean finished = generationsMade >= numberOfGenerations;
+			this.sendScores();
+			IslandCoordinator.writeGenomes(this.out,
+					this.geneticAlgorithmCalculator.returnBestGenomes(finished ? 0 : numberOfMigrants));
+			this.out.flush();
+			if (finished) {
+				return;
+			}
+			this.geneticAlgorithmCalculator.receiveMigrants(IslandCoordinator.readGenomes(this.in));
+		}
+	}
+
+	/**
+	 * Keeps the best, average and worst fitness scores of the current generation
+	 * until they are sent.
+	 */
+	private void recordScores() {
+		if (SCORES_PER_GENERATION * (this.numberOfUnsentScores + 1) > this.unsentScores.length) {
+			this.unsentScores = Arrays.copyOf(this.unsentScores, this.unsentScores.length * 2);
+		}
+		int position = SCORES_PER_GENERATION * this.numberOfUnsentScores;
+		this.unsentScores[position] = this.geneticAlgorithmCalculator.returnCurrentBest();
+		this.unsentScores[position + 1] = this.geneticAlgorithmCalculator.returnCurrentAverage();
+		this.unsentScores[position + 2] = this.geneticAlgorithmCalculator.returnCurrentWorst();
+		this.numberOfUnsentScores++;
+	}
+
+	/**
+	 * Sends the number of generations made since the last migration and their
+	 * fitness scores.
+	 *
+	 * @throws IOException if the output cannot be written to
+	 */
+	private void sendScores() throws IOException {
+		this.out.writeInt(this.numberOfUnsentScores);
+		for (int i = 0; i < SCORES_PER_GENERATION * this.numberOfUnsentScores; i++) {
+			this.out.writeInt(this.unsentScores[i]);
+		}
+		this.numberOfUnsentScores = 0;
+	}
+
+}
@@ -0,0 +1,73 @@
+package mainApp;
+
+/**
+ * Class: NumberOfOnesFitness <br>
+ * Purpose: Scores a genome by the number of 1s it holds, counted a word at a
+ * time. <br>
+ * <br>
+ * Restrictions: NONE <br>
+ * For example:
+ *
+ * <pre>
+ * int fitnessScore = new NumberOfOnesFitness().evaluate(genome, null);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see FitnessFunction
+ */
+public class NumberOfOnesFitness implements FitnessFunction {
+
+	/** flag for the NUM_1S fitness in fitness evaluation */
+	private static final int NUM_1S = 11;
+
+	/** flag for a correct allele */
+	private static final int CORRECT_ALLELE_FLAG = 1;
+
+	/** flag for an incorrect allele */
+	private static final int INCORRECT_ALLELE_FLAG = 0;
+
+	@Override
+	public String getName() {
+		return "Number of 1";
+	}
+
+	@Override
+	public int getFlag() {
+		return NUM_1S;
+	}
+
+	@Override
+	public Genome randomGenome(int numberOfGenes) {
+		return Genome.randomGenome(numberOfGenes);
+	}
+
+	@Override
+	public int evaluate(Genome genome, Genome idealGenotype) {
+		return genome.countCorrectAlleles();
+	}
+
+	@Override
+	public boolean isDeterministic() {
+		return true;
+	}
+
+	@Override
+	public boolean isIncremental() {
+		return true;
+	}
+
+	/**
+	 * A flip from 0 gains a 1, a flip from 1 loses one and a flip from unknown
+	 * turns the gene into a 0, which changes nothing.
+	 */
+	@Override
+	public int fitnessChangeOfFlip(Genome genome, Genome idealGenotype, int locus) {
+		int allele = genome.get(locus);
+		if (allele == INCORRECT_ALLELE_FLAG) {
+			return 1;
+		}
+		return allele == CORRECT_ALLELE_FLAG ? -1 : 0;
+	}
+
+}
@@ -0,0 +1,166 @@
+package mainApp;
+
+import java.util.ArrayList;
+import java.util.ServiceLoader;
+
+/**
+ * Class: OperatorRegistry <br>
+ * Purpose: Keeps every FitnessFunction and SelectionStrategy that can be
+ * chosen, looked up by the name shown in the viewer or by the old integer
+ * flag. The built-in operators are always registered; more can be plugged in
+ * without changing this project through java.util.ServiceLoader. <br>
+ * <br>
+ * Restrictions: a plugged-in operator with the same name as one registered
+ * before it is ignored. Lookups are meant to happen once per run, not once per
+ * individual. <br>
+ * For example:
+ *
+ * <pre>
+ * FitnessFunction fitnessFunction = OperatorRegistry.fitnessFunctionForName("Target Fitness");
+ * SelectionStrategy selectionStrategy = OperatorRegistry.selectionStrategyForFlag(2);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see FitnessFunction
+ * @see SelectionStrategy
+ */
+public class OperatorRegistry {
+
+	/** every registered fitness method, in the order shown in the viewer */
+	private static final ArrayList<FitnessFunction> FITNESS_FUNCTIONS = new ArrayList<FitnessFunction>();
+
+	/** every registered selection method, in the order shown in the viewer */
+	private static final ArrayList<SelectionStrategy> SELECTION_STRATEGIES = new ArrayList<SelectionStrategy>();
+
+	static {
+		registerFitnessFunction(new NumberOfOnesFitness());
+		registerFitnessFunction(new TargetFitness());
+		registerFitnessFunction(new SymmetryFitness());
+		registerFitnessFunction(new BaldwinianFitness());
+		registerFitnessFunction(new BinaryValueFitness());
+		for (FitnessFunction fitnessFunction : ServiceLoader.load(FitnessFunction.class)) {
+			registerFitnessFunction(fitnessFunction);
+		}
+
+		registerSelectionStrategy(new TruncationSelection());
+		registerSelectionStrategy(new RouletteWheelSelection());
+		registerSelectionStrategy(new RankSelection());
+		registerSelectionStrategy(new StochasticUniversalSamplingSelection());
+		registerSelectionStrategy(new TournamentSelection());
+		registerSelectionStrategy(new BaldwinianSelection());
+		for (SelectionStrategy selectionStrategy : ServiceLoader.load(SelectionStrategy.class)) {
+			registerSelectionStrategy(selectionStrategy);
+		}
+	}
+
+	/**
+	 * Adds a fitness method unless one with the same name is already registered.
+	 *
+	 * @param fitnessFunction the fitness method to add
+	 */
+	private static void registerFitnessFunction(FitnessFunction fitnessFunction) {
+		if (fitnessFunctionForName(fitnessFunction.getName()) == null) {
+			FITNESS_FUNCTIONS.add(fitnessFunction);
+		}
+	}
+
+	/**
+	 * Adds a selection method unless one with the same name is already
+	 * registered.
+	 *
+	 * @param selectionStrategy the selection method to add
+	 */
+	private static void registerSelectionStrategy(SelectionStrategy selectionStrategy) {
+		if (selectionStrategyForName(selectionStrategy.getName()) == null) {
+			SELECTION_STRATEGIES.add(selectionStrategy);
+		}
+	}
+
+	/**
+	 * Returns the fitness method with the given name.
+	 *
+	 * @param name the name shown in the viewer, such as "Number of 1"
+	 * @return the fitness method, or null if there is none with that name
+	 */
+	public static FitnessFunction fitnessFunctionForName(String name) {
+		for (FitnessFunction fitnessFunction : FITNESS_FUNCTIONS) {
+			if (fitnessFunction.getName().equals(name)) {
+				return fitnessFunction;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the fitness method with the given integer flag.
+	 *
+	 * @param flag the flag of the fitness method, such as 11 for Number of 1s
+	 * @return the fitness method, or null if there is none with that flag
+	 */
+	public static FitnessFunction fitnessFunctionForFlag(int flag) {
+		for (FitnessFunction fitnessFunction : FITNESS_FUNCTIONS) {
+			if (fitnessFunction.getFlag() == flag) {
+				return fitnessFunction;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the selection method with the given name.
+	 *
+	 * @param name the name shown in the viewer, such as "Truncation"
+	 * @return the selection method, or null if there is none with that name
+	 */
+	public static SelectionStrategy selectionStrategyForName(String name) {
+		for (SelectionStrategy selectionStrategy : SELECTION_STRATEGIES) {
+			if (selectionStrategy.getName().equals(name)) {
+				return selectionStrategy;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the selection method with the given integer flag.
+	 *
+	 * @param flag the flag of the selection method, such as 0 for Truncation
+	 * @return the selection method, or null if there is none with that flag
+	 */
+	public static SelectionStrategy selectionStrategyForFlag(int flag) {
+		for (SelectionStrategy selectionStrategy : SELECTION_STRATEGIES) {
+			if (selectionStrategy.getFlag() == flag) {
+				return selectionStrategy;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the names of every registered fitness method.
+	 *
+	 * @return the names, in the order they were registered
+	 */
+	public static String[] fitnessFunctionNames() {
+		String[] names = new String[FITNESS_FUNCTIONS.size()];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = FITNESS_FUNCTIONS.get(i).getName();
+		}
+		return names;
+	}
+
+	/**
+	 * Returns the names of every registered selection method.
+	 *
+	 * @return the names, in the order they were registered
+	 */
+	public static String[] selectionStrategyNames() {
+		String[] names = new String[SELECTION_STRATEGIES.size()];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = SELECTION_STRATEGIES.get(i).getName();
+		}
+		return names;
+	}
+
+}
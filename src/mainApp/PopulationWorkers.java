@@ -0,0 +1,284 @@
+package mainApp;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Class: PopulationWorkers <br>
+ * Purpose: Does the per-individual work of making a generation, such as
+ * copying parents, mutating offspring and calculating fitness scores, split
+ * over a ForkJoinPool with a set number of threads. Before each batch that
+ * draws random numbers, one batch seed is drawn from the stream of the calling
+ * thread, and each individual is worked on with a SplittableRandom made from a
+ * seed mixed from the batch seed and its index. So which thread handles an
+ * individual never changes the result: a run seeded with S makes bit-identical
+ * populations on 1 thread or on 64. Batches that draw no random numbers, such
+ * as scoring with a deterministic fitness method, are not seeded at all. <br>
+ * <br>
+ * Restrictions: the fitness method must be safe to call from several threads
+ * at once, which stateless fitness methods are. With the fitness cache on, a
+ * random fitness method is only repeatable on one thread, because which thread
+ * scores a genome first decides the score that is kept. <br>
+ * For example:
+ *
+ * <pre>
+ * PopulationWorkers populationWorkers = new PopulationWorkers(8);
+ * populationWorkers.mutate(offspring, numberOfElites, mutationRate);
+ * populationWorkers.evaluateFitness(offspring);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see Generation
+ * @see RandomStreams
+ */
+public class PopulationWorkers {
+
+	/** the workers that do everything on the calling thread */
+	private static final PopulationWorkers SEQUENTIAL = new PopulationWorkers(1);
+
+	/** how many pieces a population is split into per thread */
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	/** the odd constant SplittableRandom steps its seed by */
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	/** the number of threads */
+	private final int threadCount;
+
+	/** the threads, null when there is only one */
+	private final ForkJoinPool pool;
+
+	/**
+	 * The work done to one individual of a batch.
+	 */
+	private interface ChromosomeTask {
+		/**
+		 * Works on one individual, with the generator of the current thread set to
+		 * the individual's own stream.
+		 *
+		 * @param chromosomes the individuals of the batch
+		 * @param index       the index of the individual to work on
+		 */
+		void run(Chromosome[] chromosomes, int index);
+	}
+
+	/**
+	 * Creates workers with their own threads.
+	 *
+	 * @param threadCount the number of threads; 1 works on the calling thread
+	 */
+	public PopulationWorkers(int threadCount) {
+		this.threadCount = Math.max(1, threadCount);
+		this.pool = this.threadCount == 1 ? null : new ForkJoinPool(this.threadCount);
+	}
+
+	/**
+	 * Returns the workers that do everything on the calling thread.
+	 *
+	 * @return the single-threaded workers
+	 */
+	public static PopulationWorkers sequential() {
+		return SEQUENTIAL;
+	}
+
+	/**
+	 * Returns the number of threads.
+	 *
+	 * @return the number of threads
+	 */
+	public int getThreadCount() {
+		return this.threadCount;
+	}
+
+	/**
+	 * Calculates every fitness score that is not up to date, and returns when
+	 * all of them are done. Only a random fitness method gets per-individual
+	 * streams.
+	 *
+	 * @param chromosomes the chromosomes to score
+	 */
+	public void evaluateFitness(Chromosome[] chromosomes) {
+		this.runBatch(chromosomes, 0, scoresRandomly(chromosomes), new ChromosomeTask() {
+			@Override
+			public void run(Chromosome[] chromosomes, int index) {
+				chromosomes[index].calculateFitnessIfNeeded();
+			}
+		});
+	}
+
+	/**
+	 * Mutates every chromosome from the given index on.
+	 *
+	 * @param chromosomes  the chromosomes to mutate
+	 * @param firstIndex   the index of the first chromosome mutated, so the elites
+	 *                     in front are left alone
+	 * @param mutationRate the expected number of genes flipped per chromosome
+	 */
+	public void mutate(Chromosome[] chromosomes, int firstIndex, final double mutationRate) {
+		this.runBatch(chromosomes, firstIndex, true, new ChromosomeTask() {
+			@Override
+			public void run(Chromosome[] chromosomes, int index) {
+				chromosomes[index].mutate(mutationRate);
+			}
+		});
+	}
+
+	/**
+	 * Overwrites each chromosome with a copy of the parent at the same index,
+	 * taking the parents again in order if there are fewer of them.
+	 *
+	 * @param chromosomes the chromosomes to overwrite
+	 * @param parents     the parents to copy, none of them in chromosomes
+	 */
+	public void copyParents(Chromosome[] chromosomes, final ArrayList<Chromosome> parents) {
+		this.runBatch(chromosomes, 0, false, new ChromosomeTask() {
+			@Override
+			public void run(Chromosome[] chromosomes, int index) {
+				chromosomes[index].becomeCopyOf(parents.get(index % parents.size()));
+			}
+		});
+	}
+
+	/**
+	 * Returns whether scoring any of the chromosomes draws random numbers.
+	 *
+	 * @param chromosomes the chromosomes to score
+	 * @return true if some chromosome has a fitness method that is not
+	 *         deterministic
+	 */
+	private static boolean scoresRandomly(Chromosome[] chromosomes) {
+		for (int i = 0; i < chromosomes.length; i++) {
+			FitnessFunction fitnessFunction = chromosomes[i].getFitnessFunction();
+			if (fitnessFunction == null || !fitnessFunction.isDeterministic()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Stops the threads once they are idle.
+	 */
+	public void shutdown() {
+		if (this.pool != null) {
+			this.pool.shutdown();
+		}
+	}
+
+	/**
+	 * Runs a task on every chromosome from the given index on, and returns when
+	 * all of them are done.
+	 *
+	 * @param chromosomes the chromosomes to work on
+	 * @param firstIndex  the index of the first chromosome worked on
+	 * @param random      true if the task draws random numbers, so each
+	 *                    chromosome needs its own stream
+	 * @param task        the work done to each chromosome
+	 */
+	private void runBatch(Chromosome[] chromosomes, int firstIndex, boolean random, ChromosomeTask task) {
+		boolean seeded = random && firstIndex < chromosomes.length;
+		long batchSeed = seeded ? RandomStreams.current().nextLong() : 0;
+
+		if (this.pool == null || chromosomes.length - firstIndex < 2) {
+			runRange(chromosomes, seeded, batchSeed, firstIndex, chromosomes.length, task);
+			return;
+		}
+		int chunkSize = Math.max(1, (chromosomes.length - firstIndex) / (this.threadCount * CHUNKS_PER_THREAD));
+		this.pool.invoke(
+				new BatchTask(chromosomes, seeded, batchSeed, firstIndex, chromosomes.length, chunkSize, task));
+	}
+
+	/**
+	 * Runs a task on the chromosomes in a range on the current thread, each with
+	 * a generator made from its own seed if the batch is seeded.
+	 *
+	 * @param chromosomes the chromosomes to work on
+	 * @param seeded      true if the task draws random numbers
+	 * @param batchSeed   the seed the seed of each chromosome is mixed from
+	 * @param start       the index of the first chromosome worked on
+	 * @param end         the index after the last chromosome worked on
+	 * @param task        the work done to each chromosome
+	 */
+	private static void runRange(Chromosome[] chromosomes, boolean seeded, long batchSeed, int start, int end,
+			ChromosomeTask task) {
+		if (!seeded) {
+			for (int i = start; i < end; i++) {
+				task.run(chromosomes, i);
+			}
+			return;
+		}
+		SplittableRandom threadRandom = RandomStreams.current();
+		try {
+			for (int i = start; i < end; i++) {
+				// a SplittableRandom cannot be seeded again, so each individual gets a small new one
+				RandomStreams.use(new SplittableRandom(seedOfIndex(batchSeed, i)));
+				task.run(chromosomes, i);
+			}
+		} finally {
+			RandomStreams.use(threadRandom);
+		}
+	}
+
+	/**
+	 * Returns the seed of the individual at an index of a batch: the index-th
+	 * value a SplittableRandom seeded with the batch seed would give, worked out
+	 * without drawing the ones before it.
+	 *
+	 * @param batchSeed the seed of the batch
+	 * @param index     the index of the individual
+	 * @return the seed of the individual
+	 */
+	private static long seedOfIndex(long batchSeed, int index) {
+		long z = batchSeed + (index + 1L) * GOLDEN_GAMMA;
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Runs a task on a range of chromosomes, splitting the range in half until
+	 * it is no longer than the chunk size.
+	 */
+	private static class BatchTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Chromosome[] chromosomes;
+		private final boolean seeded;
+		private final long batchSeed;
+		private final int start;
+		private final int end;
+		private final int chunkSize;
+		private final ChromosomeTask task;
+
+		BatchTask(Chromosome[] chromosomes, boolean seeded, long batchSeed, int start, int end, int chunkSize,
+				ChromosomeTask task) {
+			this.chromosomes = chromosomes;
+			this.seeded = seeded;
+			this.batchSeed = batchSeed;
+			this.start = start;
+			this.end = end;
+			this.chunkSize = chunkSize;
+			this.task = task;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.end - this.start <= this.chunkSize) {
+				runRange(this.chromosomes, this.seeded, this.batchSeed, this.start, this.end, this.task);
+				return;
+			}
+			int middle = (this.start + this.end) >>> 1;
+			invokeAll(
+					new BatchTask(this.chromosomes, this.seeded, this.batchSeed, this.start, middle, this.chunkSize,
+							this.task),
+					new BatchTask(this.chromosomes, this.seeded, this.batchSeed, middle, this.end, this.chunkSize,
+							this.task));
+		}
+
+	}
+
+}
@@ -0,0 +1,70 @@
+package mainApp;
+
+import java.util.SplittableRandom;
+
+/**
+ * Class: RandomStreams <br>
+ * Purpose: Hands each thread its own SplittableRandom, split from one shared
+ * root generator, so the genetic operators never wait on the lock behind
+ * Math.random(). <br>
+ * <br>
+ * Restrictions: a SplittableRandom is not thread-safe, so the generator
+ * returned by current() must only be used by the thread that asked for it.
+ * <br>
+ * For example:
+ *
+ * <pre>
+ * SplittableRandom random = RandomStreams.current();
+ * double randomValue = random.nextDouble();
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see Chromosome
+ * @see Genome
+ */
+public class RandomStreams {
+
+	/** the generator every thread's stream is split from */
+	private static final SplittableRandom ROOT = new SplittableRandom();
+
+	/** the stream of the current thread */
+	private static final ThreadLocal<SplittableRandom> STREAMS = new ThreadLocal<SplittableRandom>() {
+		@Override
+		protected SplittableRandom initialValue() {
+			return splitFromRoot();
+		}
+	};
+
+	/**
+	 * Splits a new generator from the root generator.
+	 *
+	 * @return the new generator
+	 */
+	private static synchronized SplittableRandom splitFromRoot() {
+		return ROOT.split();
+	}
+
+	/**
+	 * Returns the generator of the current thread.
+	 *
+	 * @return the generator of the current thread
+	 */
+	public static SplittableRandom current() {
+		return STREAMS.get();
+	}
+
+	/**
+	 * Makes the given generator the generator of the current thread, so work
+	 * can be given a stream that does not depend on which thread runs it.
+	 *
+	 * @param random the new generator of the current thread
+	 * @return the generator the current thread had before
+	 */
+	public static SplittableRandom use(SplittableRandom random) {
+		SplittableRandom previous = STREAMS.get();
+		STREAMS.set(random);
+		return previous;
+	}
+
+}
@@ -0,0 +1,84 @@
+package mainApp;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * Class: RankSelection <br>
+ * Purpose: Chooses the parents by rank. With the individuals sorted best
+ * first, the individual at index i gets weight N - i, so the best is N times
+ * as likely to be picked as the worst, however far apart their scores are.
+ * <br>
+ * <br>
+ * Restrictions: NONE <br>
+ * For example:
+ *
+ * <pre>
+ * ArrayList&lt;Chromosome&gt; parents = new RankSelection().chooseParents(generation, 0);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see SelectionStrategy
+ */
+public class RankSelection implements SelectionStrategy {
+
+	/** Flag of parent selection: Rank */
+	private static final int RANK = 2;
+
+	@Override
+	public String getName() {
+		return "Rank Selection";
+	}
+
+	@Override
+	public int getFlag() {
+		return RANK;
+	}
+
+	@Override
+	public ArrayList<Chromosome> chooseParents(Generation generation, int numberOfChromosomesToPreserve) {
+		generation.sortChromosomesByFitnessScore();
+		Chromosome[] individuals = generation.getAllChromosome();
+		ArrayList<Chromosome> parentsForNextGeneration = new ArrayList<Chromosome>();
+
+		for (int i = 0; i < numberOfChromosomesToPreserve; i++) {
+			parentsForNextGeneration.add(individuals[i]);
+		}
+
+		SplittableRandom randomNumberGenerator = RandomStreams.current();
+
+		for (int i = numberOfChromosomesToPreserve; i < individuals.length; i++) {
+			int randomIndex = sampleIndexByRank(individuals.length, randomNumberGenerator);
+			parentsForNextGeneration.add(individuals[randomIndex]);
+		}
+
+		return parentsForNextGeneration;
+	}
+
+	/**
+	 * Picks the index of an individual by rank. Counting from the worst, index N -
+	 * 1 - j owns the draws from j(j+1)/2 up to (j+1)(j+2)/2 of the N(N+1)/2 total,
+	 * so a single draw is turned back into j with a square root instead of looking
+	 * it up in a pool of N(N+1)/2 entries.
+	 * 
+	 * @param numberOfIndividuals   the number of individuals to pick from
+	 * @param randomNumberGenerator the random number generator to draw from
+	 * @return the index of the picked individual
+	 */
+	static int sampleIndexByRank(long numberOfIndividuals, SplittableRandom randomNumberGenerator) {
+		long totalWeight = numberOfIndividuals * (numberOfIndividuals + 1) / 2;
+		long draw = randomNumberGenerator.nextLong(totalWeight);
+
+		long rankFromWorst = (long) ((Math.sqrt(8.0 * draw + 1) - 1) / 2);
+		// the square root can be off by one either way for very large draws
+		while (rankFromWorst * (rankFromWorst + 1) / 2 > draw) {
+			rankFromWorst--;
+		}
+		while ((rankFromWorst + 1) * (rankFromWorst + 2) / 2 <= draw) {
+			rankFromWorst++;
+		}
+		return (int) (numberOfIndividuals - 1 - rankFromWorst);
+	}
+
+}
@@ -0,0 +1,80 @@
+package mainApp;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * Class: RouletteWheelSelection <br>
+ * Purpose: Chooses the parents with a roulette wheel, where each individual is
+ * picked with probability proportional to its fitness score. <br>
+ * <br>
+ * Restrictions: individuals with a fitness score of 0 or below are never
+ * picked, unless every score is, in which case every individual is equally
+ * likely. <br>
+ * For example:
+ *
+ * <pre>
+ * ArrayList&lt;Chromosome&gt; parents = new RouletteWheelSelection().chooseParents(generation, 0);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see SelectionStrategy
+ * @see AliasTable
+ */
+public class RouletteWheelSelection implements SelectionStrategy {
+
+	/** Flag of parent selection: Roulette Wheel */
+	private static final int ROULETTE_WHEEL = 1;
+
+	@Override
+	public String getName() {
+		return "Roulette Wheel";
+	}
+
+	@Override
+	public int getFlag() {
+		return ROULETTE_WHEEL;
+	}
+
+	@Override
+	public ArrayList<Chromosome> chooseParents(Generation generation, int numberOfChromosomesToPreserve) {
+		generation.moveBestChromosomesToFront(numberOfChromosomesToPreserve);
+		Chromosome[] individuals = generation.getAllChromosome();
+		ArrayList<Chromosome> parentsForNextGeneration = new ArrayList<Chromosome>();
+
+		for (int i = 0; i < numberOfChromosomesToPreserve; i++) {
+			parentsForNextGeneration.add(individuals[i]);
+		}
+
+		AliasTable rouletteWheel = buildRouletteWheel(individuals);
+		SplittableRandom randomNumberGenerator = RandomStreams.current();
+
+		for (int i = numberOfChromosomesToPreserve; i < individuals.length; i++) {
+			int randomIndex = rouletteWheel.sample(randomNumberGenerator);
+			parentsForNextGeneration.add(individuals[randomIndex]);
+
+		}
+
+		return parentsForNextGeneration;
+	}
+
+	/**
+	 * Builds a roulette wheel over the individuals, where each individual is picked
+	 * with probability proportional to its fitness score. This is the same chance
+	 * as drawing from a pool holding each individual once per fitness point, but
+	 * the alias table takes O(N) memory instead of growing with the scores.
+	 * Individuals with a fitness score of 0 or below are never picked.
+	 * 
+	 * @param individuals the individuals on the wheel
+	 * @return the roulette wheel, indexed like the individuals array
+	 */
+	static AliasTable buildRouletteWheel(Chromosome[] individuals) {
+		double[] fitnessWeights = new double[individuals.length];
+		for (int i = 0; i < individuals.length; i++) {
+			fitnessWeights[i] = Math.max(0, individuals[i].reportFitness());
+		}
+		return new AliasTable(fitnessWeights);
+	}
+
+}
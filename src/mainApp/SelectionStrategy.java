@@ -0,0 +1,58 @@
+package mainApp;
+
+import java.util.ArrayList;
+
+/**
+ * Class: SelectionStrategy <br>
+ * Purpose: A way of choosing the parents of the next Generation. The
+ * GeneticAlgorithmCalculator looks its strategy up once per run and hands it
+ * to every Generation, instead of branching on a selection flag each time.
+ * <br>
+ * <br>
+ * Restrictions: implementations must be stateless, because one instance is
+ * shared by every generation of a run. Settings such as the tournament size
+ * are read from the Generation. An implementation that is not built in is
+ * found by OperatorRegistry through java.util.ServiceLoader: it needs a public
+ * constructor with no arguments and its class name listed in
+ * META-INF/services/mainApp.SelectionStrategy. <br>
+ * For example:
+ *
+ * <pre>
+ * SelectionStrategy selectionStrategy = OperatorRegistry.selectionStrategyForName("Tournament");
+ * ArrayList&lt;Chromosome&gt; parents = generation.chooseNextParents(selectionStrategy, elitismPercentage);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see OperatorRegistry
+ * @see Generation
+ */
+public interface SelectionStrategy {
+
+	/**
+	 * Returns the name shown for this selection method in the viewer.
+	 *
+	 * @return the name of this selection method
+	 */
+	public String getName();
+
+	/**
+	 * Returns the integer flag of this selection method, such as 0 for
+	 * Truncation.
+	 *
+	 * @return the flag of this selection method
+	 */
+	public int getFlag();
+
+	/**
+	 * Chooses as many parents as there are individuals in the generation. The
+	 * first numberOfChromosomesToPreserve parents must be the elites, which are
+	 * the first individuals of the generation once it is sorted.
+	 *
+	 * @param generation                    the generation to choose parents from
+	 * @param numberOfChromosomesToPreserve the number of elites to keep
+	 * @return the parents for the next generation
+	 */
+	public ArrayList<Chromosome> chooseParents(Generation generation, int numberOfChromosomesToPreserve);
+
+}
@@ -0,0 +1,84 @@
+package mainApp;
+
+import java.util.ArrayList;
+
+/**
+ * Class: StochasticUniversalSamplingSelection <br>
+ * Purpose: Chooses the parents with stochastic universal sampling. Every
+ * individual owns a slice of a wheel as wide as its fitness score, like the
+ * roulette wheel, but instead of spinning once per parent a single random
+ * offset places evenly spaced pointers around the wheel, one per parent. <br>
+ * <br>
+ * Restrictions: individuals with a fitness score of 0 or below get no slice,
+ * unless every score is, in which case every slice is equally wide. <br>
+ * For example:
+ *
+ * <pre>
+ * ArrayList&lt;Chromosome&gt; parents = new StochasticUniversalSamplingSelection().chooseParents(generation, 0);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see SelectionStrategy
+ */
+public class StochasticUniversalSamplingSelection implements SelectionStrategy {
+
+	/** Flag of parent selection: Stochastic Universal Sampling */
+	private static final int STOCHASTIC_UNIVERSAL_SAMPLING = 4;
+
+	@Override
+	public String getName() {
+		return "Stochastic Universal Sampling";
+	}
+
+	@Override
+	public int getFlag() {
+		return STOCHASTIC_UNIVERSAL_SAMPLING;
+	}
+
+	/**
+	 * No sorting is needed: the elites are only moved to the front.
+	 */
+	@Override
+	public ArrayList<Chromosome> chooseParents(Generation generation, int numberOfChromosomesToPreserve) {
+		generation.moveBestChromosomesToFront(numberOfChromosomesToPreserve);
+		Chromosome[] individuals = generation.getAllChromosome();
+		int populationSize = individuals.length;
+		ArrayList<Chromosome> parentsForNextGeneration = new ArrayList<Chromosome>();
+
+		for (int i = 0; i < numberOfChromosomesToPreserve; i++) {
+			parentsForNextGeneration.add(individuals[i]);
+		}
+
+		int numberOfPointers = populationSize - numberOfChromosomesToPreserve;
+		if (numberOfPointers <= 0) {
+			return parentsForNextGeneration;
+		}
+
+		double totalFitness = 0;
+		for (int i = 0; i < populationSize; i++) {
+			totalFitness += Math.max(0, individuals[i].reportFitness());
+		}
+		boolean equalSlices = totalFitness <= 0;
+		if (equalSlices) {
+			totalFitness = populationSize;
+		}
+
+		double pointerSpacing = totalFitness / numberOfPointers;
+		double pointer = RandomStreams.current().nextDouble() * pointerSpacing;
+		double sliceEnd = 0;
+		int currentIndividual = -1;
+
+		for (int p = 0; p < numberOfPointers; p++) {
+			while (sliceEnd <= pointer && currentIndividual < populationSize - 1) {
+				currentIndividual++;
+				sliceEnd += equalSlices ? 1 : Math.max(0, individuals[currentIndividual].reportFitness());
+			}
+			parentsForNextGeneration.add(individuals[currentIndividual]);
+			pointer += pointerSpacing;
+		}
+
+		return parentsForNextGeneration;
+	}
+
+}
@@ -0,0 +1,77 @@
+package mainApp;
+
+/**
+ * Class: SymmetryFitness <br>
+ * Purpose: Scores a genome by how symmetrical it is: the first half of the
+ * genome is compared word by word against the mirrored second half. <br>
+ * <br>
+ * Restrictions: NONE <br>
+ * For example:
+ *
+ * <pre>
+ * int fitnessScore = new SymmetryFitness().evaluate(genome, null);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see FitnessFunction
+ */
+public class SymmetryFitness implements FitnessFunction {
+
+	/** flag for the symmetry fitness in fitness evaluation */
+	private static final int SYMMETRY = 33;
+
+	/** flag for a correct allele */
+	private static final int CORRECT_ALLELE_FLAG = 1;
+
+	/** flag for an incorrect allele */
+	private static final int INCORRECT_ALLELE_FLAG = 0;
+
+	@Override
+	public String getName() {
+		return "Symmetry";
+	}
+
+	@Override
+	public int getFlag() {
+		return SYMMETRY;
+	}
+
+	@Override
+	public Genome randomGenome(int numberOfGenes) {
+		return Genome.randomGenome(numberOfGenes);
+	}
+
+	@Override
+	public int evaluate(Genome genome, Genome idealGenotype) {
+		return genome.countSymmetricAlleles();
+	}
+
+	@Override
+	public boolean isDeterministic() {
+		return true;
+	}
+
+	@Override
+	public boolean isIncremental() {
+		return true;
+	}
+
+	/**
+	 * A flip turns a 0 into a 1 and a 1 or an unknown gene into a 0, so the score
+	 * changes by whether the flipped gene matches its mirror less whether the gene
+	 * matched it before. The middle gene of an odd genome is its own mirror.
+	 */
+	@Override
+	public int fitnessChangeOfFlip(Genome genome, Genome idealGenotype, int locus) {
+		int mirrorLocus = genome.size() - (locus + 1);
+		if (mirrorLocus == locus) {
+			return 0;
+		}
+		int allele = genome.get(locus);
+		int flippedAllele = allele == INCORRECT_ALLELE_FLAG ? CORRECT_ALLELE_FLAG : INCORRECT_ALLELE_FLAG;
+		int mirrorAllele = genome.get(mirrorLocus);
+		return (flippedAllele == mirrorAllele ? 1 : 0) - (allele == mirrorAllele ? 1 : 0);
+	}
+
+}
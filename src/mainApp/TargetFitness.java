@@ -0,0 +1,77 @@
+package mainApp;
+
+/**
+ * Class: TargetFitness <br>
+ * Purpose: Scores a genome by the number of genes that match the ideal
+ * genotype, counted with an XNOR and a popcount per word. <br>
+ * <br>
+ * Restrictions: the ideal genotype must not be null. Genes past the end of the
+ * ideal genotype never match. <br>
+ * For example:
+ *
+ * <pre>
+ * int fitnessScore = new TargetFitness().evaluate(genome, idealGenotype);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see FitnessFunction
+ */
+public class TargetFitness implements FitnessFunction {
+
+	/** flag for the target fitness in fitness evaluation */
+	private static final int TARGET = 22;
+
+	/** flag for a correct allele */
+	private static final int CORRECT_ALLELE_FLAG = 1;
+
+	/** flag for an incorrect allele */
+	private static final int INCORRECT_ALLELE_FLAG = 0;
+
+	@Override
+	public String getName() {
+		return "Target Fitness";
+	}
+
+	@Override
+	public int getFlag() {
+		return TARGET;
+	}
+
+	@Override
+	public Genome randomGenome(int numberOfGenes) {
+		return Genome.randomGenome(numberOfGenes);
+	}
+
+	@Override
+	public int evaluate(Genome genome, Genome idealGenotype) {
+		return genome.countMatchingAlleles(idealGenotype, genome.size());
+	}
+
+	@Override
+	public boolean isDeterministic() {
+		return true;
+	}
+
+	@Override
+	public boolean isIncremental() {
+		return true;
+	}
+
+	/**
+	 * A flip turns a 0 into a 1 and a 1 or an unknown gene into a 0, so the score
+	 * changes by whether the flipped gene matches the ideal genotype less whether
+	 * the gene matched it before.
+	 */
+	@Override
+	public int fitnessChangeOfFlip(Genome genome, Genome idealGenotype, int locus) {
+		if (locus >= idealGenotype.size()) {
+			return 0;
+		}
+		int allele = genome.get(locus);
+		int flippedAllele = allele == INCORRECT_ALLELE_FLAG ? CORRECT_ALLELE_FLAG : INCORRECT_ALLELE_FLAG;
+		int target = idealGenotype.get(locus);
+		return (flippedAllele == target ? 1 : 0) - (allele == target ? 1 : 0);
+	}
+
+}
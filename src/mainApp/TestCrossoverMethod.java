@@ -1,12 +1,10 @@
 package mainApp;
 
-import java.util.ArrayList;
-
 public class TestCrossoverMethod {
 
 	public static void main(String[] args) {
 
-		ArrayList<Gene> idealGenotype = new ArrayList<Gene>();
+		Genome idealGenotype = new Genome(0);
 		final int FITNESS_METHOD = 1;
 		final int POPULATION_SIZE = 2;
 		final int NUMBER_OF_GENES_PER_CHROMOSOME = 100;
@@ -14,18 +12,18 @@ public class TestCrossoverMethod {
 		Generation generation = new Generation(POPULATION_SIZE, NUMBER_OF_GENES_PER_CHROMOSOME, FITNESS_METHOD,
 				idealGenotype);
 
-		ArrayList<Gene> parentAGenes = null;
-		ArrayList<Gene> parentBGenes = null;
+		Genome parentAGenes = null;
+		Genome parentBGenes = null;
 
 		try {
-			parentAGenes = FileIO.readFile("ChromosomeTextFiles/ParentA");
+			parentAGenes = FileIO.readGenome("ChromosomeTextFiles/ParentA");
 		} catch (InvalidChromosomeFormatException e) {
 
 			e.printStackTrace();
 		}
 
 		try {
-			parentBGenes = FileIO.readFile("ChromosomeTextFiles/ParentB");
+			parentBGenes = FileIO.readGenome("ChromosomeTextFiles/ParentB");
 		} catch (InvalidChromosomeFormatException e) {
 			
 			e.printStackTrace();
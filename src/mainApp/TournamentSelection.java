@@ -0,0 +1,70 @@
+package mainApp;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * Class: TournamentSelection <br>
+ * Purpose: Chooses the parents with tournaments. Each parent is the fittest of
+ * a number of individuals picked at random, so choosing a parent costs
+ * O(tournament size). <br>
+ * <br>
+ * Restrictions: the tournament size is read from the Generation. <br>
+ * For example:
+ *
+ * <pre>
+ * generation.setTournamentSize(3);
+ * ArrayList&lt;Chromosome&gt; parents = new TournamentSelection().chooseParents(generation, 0);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see SelectionStrategy
+ */
+public class TournamentSelection implements SelectionStrategy {
+
+	/** Flag of parent selection: Tournament */
+	private static final int TOURNAMENT = 5;
+
+	@Override
+	public String getName() {
+		return "Tournament";
+	}
+
+	@Override
+	public int getFlag() {
+		return TOURNAMENT;
+	}
+
+	/**
+	 * No sorting is needed: the elites are only moved to the front.
+	 */
+	@Override
+	public ArrayList<Chromosome> chooseParents(Generation generation, int numberOfChromosomesToPreserve) {
+		generation.moveBestChromosomesToFront(numberOfChromosomesToPreserve);
+		Chromosome[] individuals = generation.getAllChromosome();
+		int populationSize = individuals.length;
+		int tournamentSize = generation.getTournamentSize();
+		ArrayList<Chromosome> parentsForNextGeneration = new ArrayList<Chromosome>();
+
+		for (int i = 0; i < numberOfChromosomesToPreserve; i++) {
+			parentsForNextGeneration.add(individuals[i]);
+		}
+
+		SplittableRandom randomNumberGenerator = RandomStreams.current();
+
+		for (int i = numberOfChromosomesToPreserve; i < populationSize; i++) {
+			Chromosome winner = individuals[randomNumberGenerator.nextInt(populationSize)];
+			for (int round = 1; round < tournamentSize; round++) {
+				Chromosome challenger = individuals[randomNumberGenerator.nextInt(populationSize)];
+				if (challenger.reportFitness() > winner.reportFitness()) {
+					winner = challenger;
+				}
+			}
+			parentsForNextGeneration.add(winner);
+		}
+
+		return parentsForNextGeneration;
+	}
+
+}
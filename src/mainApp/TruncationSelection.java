@@ -0,0 +1,88 @@
+package mainApp;
+
+import java.util.ArrayList;
+
+/**
+ * Class: TruncationSelection <br>
+ * Purpose: Chooses the parents with truncation: the individuals are sorted by
+ * fitness score and the better half become the parents, each of them twice.
+ * When the population size is odd, the best individual is a parent once more,
+ * so there are always as many parents as individuals. <br>
+ * <br>
+ * Restrictions: NONE <br>
+ * For example:
+ *
+ * <pre>
+ * ArrayList&lt;Chromosome&gt; parents = new TruncationSelection().chooseParents(generation, 0);
+ *
+ * <pre>
+ *
+ * @author Yueqiao Wang and Rebecca Testa
+ * @see SelectionStrategy
+ */
+public class TruncationSelection implements SelectionStrategy {
+
+	/** Flag of parent selection: Truncation */
+	private static final int TRUNCATION = 0;
+
+	/**
+	 * Ratio of individuals to be selected as parents for next generation.
+	 * 1/PARENTS_RATIO
+	 */
+	private static final int PARENTS_RATIO = 2;
+
+	@Override
+	public String getName() {
+		return "Truncation";
+	}
+
+	@Override
+	public int getFlag() {
+		return TRUNCATION;
+	}
+
+	/**
+	 * If more individuals are preserved than half the population, the elites are
+	 * kept and the rest of the parents are the best individuals again. Otherwise
+	 * only the better half has to be found, not sorted, so a quickselect is used
+	 * when the generation is not sorted yet. The next generation picks its own
+	 * elites out of the parents, so the order of the parents does not matter.
+	 */
+	@Override
+	public ArrayList<Chromosome> chooseParents(Generation generation, int numberOfChromosomesToPreserve) {
+		Chromosome[] individuals = generation.getAllChromosome();
+		int populationSize = individuals.length;
+		ArrayList<Chromosome> parentsForNextGeneration = new ArrayList<Chromosome>();
+
+		if (numberOfChromosomesToPreserve > populationSize / PARENTS_RATIO) {
+			generation.sortChromosomesByFitnessScore();
+
+			for (int i = 0; i < numberOfChromosomesToPreserve; i++) {
+				parentsForNextGeneration.add(individuals[i]);
+			}
+
+			for (int i = 0; i < populationSize - numberOfChromosomesToPreserve; i++) {
+				parentsForNextGeneration.add(individuals[i]);
+			}
+		} else {
+			generation.moveBestChromosomesToFront(populationSize / PARENTS_RATIO);
+
+			Chromosome bestChromosome = individuals[0];
+			for (int i = 0; i < individuals.length / PARENTS_RATIO; i++) {
+				for (int j = 0; j < PARENTS_RATIO; j++) {
+					parentsForNextGeneration.add(individuals[i]);
+				}
+				if (individuals[i].reportFitness() > bestChromosome.reportFitness()) {
+					bestChromosome = individuals[i];
+				}
+			}
+			// an odd population would otherwise shrink by one every generation
+			while (parentsForNextGeneration.size() < populationSize) {
+				parentsForNextGeneration.add(bestChromosome);
+			}
+		}
+
+		return parentsForNextGeneration;
+	}
+
+}